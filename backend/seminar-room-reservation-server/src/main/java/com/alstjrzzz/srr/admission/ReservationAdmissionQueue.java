@@ -0,0 +1,133 @@
+package com.alstjrzzz.srr.admission;
+
+import com.alstjrzzz.srr.exception.WaitingRoomFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 예약 오픈 시점의 몰림을 막기 위한 대기열.
+ * 전체/방별 동시 처리 수를 제한하고, 나머지 요청은 도착 순서대로(FIFO) 기다리게 한다.
+ * 대기열이 가득 찼거나 max-wait 안에 차례가 오지 않으면 대기 순번과 재시도 시간을 담아 바로 거절한다.
+ */
+@Component
+public class ReservationAdmissionQueue {
+
+    private final Semaphore globalPermits;
+    private final int globalConcurrency;
+    private final int roomConcurrency;
+    private final int maxQueue;
+    private final long maxWaitNanos;
+
+    private final Map<Long, Semaphore> roomPermits = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong averageServiceNanos = new AtomicLong(TimeUnit.MILLISECONDS.toNanos(50));
+
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public ReservationAdmissionQueue(MeterRegistry meterRegistry,
+                                     @Value("${reservation.admission.global-concurrency}") int globalConcurrency,
+                                     @Value("${reservation.admission.room-concurrency}") int roomConcurrency,
+                                     @Value("${reservation.admission.max-queue}") int maxQueue,
+                                     @Value("${reservation.admission.max-wait}") Duration maxWait) {
+
+        this.globalPermits = new Semaphore(globalConcurrency, true);
+        this.globalConcurrency = globalConcurrency;
+        this.roomConcurrency = roomConcurrency;
+        this.maxQueue = maxQueue;
+        this.maxWaitNanos = maxWait.toNanos();
+
+        Gauge.builder("reservation.admission.queue.depth", waiting, AtomicInteger::get)
+                .description("대기 중인 예약 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("reservation.admission.active", globalPermits, permits -> globalConcurrency - permits.availablePermits())
+                .description("처리 중인 예약 요청 수")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("reservation.admission.wait")
+                .description("예약 요청이 대기열에서 기다린 시간")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("reservation.admission.rejected")
+                .description("대기열에서 거절된 예약 요청 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 차례가 오면 action 을 실행한다. roomId 가 null 이면 전체 제한만 적용한다.
+     */
+    public <T> T admit(Long roomId, Supplier<T> action) {
+
+        int position = waiting.incrementAndGet();
+        if (position > maxQueue) {
+            waiting.decrementAndGet();
+            throw reject(position);
+        }
+
+        Semaphore roomPermit = roomId == null
+                ? null
+                : roomPermits.computeIfAbsent(roomId, id -> new Semaphore(roomConcurrency, true));
+
+        long start = System.nanoTime();
+        boolean roomAcquired = false;
+        boolean globalAcquired = false;
+        try {
+            roomAcquired = roomPermit == null || roomPermit.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+            if (roomAcquired) {
+                long remaining = maxWaitNanos - (System.nanoTime() - start);
+                globalAcquired = globalPermits.tryAcquire(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        if (!globalAcquired) {
+            if (roomAcquired && roomPermit != null) {
+                roomPermit.release();
+            }
+            throw reject(position);
+        }
+
+        long serviceStart = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            recordServiceTime(System.nanoTime() - serviceStart);
+            globalPermits.release();
+            if (roomPermit != null) {
+                roomPermit.release();
+            }
+        }
+    }
+
+    private WaitingRoomFullException reject(int position) {
+
+        rejectedCounter.increment();
+
+        // 앞선 요청들이 처리되는 데 걸릴 예상 시간
+        long estimatedNanos = averageServiceNanos.get() * position / globalConcurrency;
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(estimatedNanos) + 1);
+
+        return new WaitingRoomFullException("예약 요청이 많아 잠시 후 다시 시도해주세요.", position, retryAfterSeconds);
+    }
+
+    private void recordServiceTime(long nanos) {
+
+        // 지수 이동 평균(가중치 1/8)
+        averageServiceNanos.accumulateAndGet(nanos, (average, sample) -> average + (sample - average) / 8);
+    }
+}
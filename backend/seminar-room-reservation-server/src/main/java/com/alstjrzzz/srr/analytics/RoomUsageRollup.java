@@ -0,0 +1,72 @@
+package com.alstjrzzz.srr.analytics;
+
+import com.alstjrzzz.srr.event.ReservationChangedEvent;
+import com.alstjrzzz.srr.repository.RoomUsageDailyRepository;
+import com.alstjrzzz.srr.repository.RoomUsageHourlyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 예약 생성/취소/삭제를 시간별, 일별 이용 통계에 더한다.
+ * 예약과 같은 트랜잭션에서 커밋 직전에 반영하므로 통계와 예약이 어긋나지 않고, 조회할 때 reservation 테이블을 읽을 필요가 없다.
+ * 방을 알 수 없는 변경(인덱스 범위 밖의 이미 끝난 예약)은 지나간 이용 기록으로 보고 통계에서 빼지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomUsageRollup {
+
+    private final RoomUsageHourlyRepository roomUsageHourlyRepository;
+    private final RoomUsageDailyRepository roomUsageDailyRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onReservationChanged(ReservationChangedEvent event) {
+
+        if (event.getRoomId() == null) {
+            return;
+        }
+
+        int sign = event.isCreated() ? 1 : -1;
+        int cancellation = event.getType() == ReservationChangedEvent.Type.CANCELED ? 1 : 0;
+
+        Long roomId = event.getRoomId();
+        LocalDateTime startTime = event.getStartTime();
+        LocalDateTime endTime = event.getEndTime();
+
+        // 일별 값은 시간별 값을 날짜로 합친 것이다. [분, 예약 수, 취소 수]
+        Map<LocalDate, int[]> daily = new LinkedHashMap<>();
+
+        LocalDateTime bucket = startTime.truncatedTo(ChronoUnit.HOURS);
+        boolean first = true;
+        while (bucket.isBefore(endTime)) {
+
+            LocalDateTime next = bucket.plusHours(1);
+            LocalDateTime from = startTime.isAfter(bucket) ? startTime : bucket;
+            LocalDateTime to = endTime.isBefore(next) ? endTime : next;
+
+            int minutes = sign * (int) Duration.between(from, to).toMinutes();
+            int count = first ? sign : 0;
+            int cancellations = first ? cancellation : 0;
+
+            roomUsageHourlyRepository.add(roomId, bucket, minutes, count, cancellations);
+
+            int[] day = daily.computeIfAbsent(bucket.toLocalDate(), date -> new int[3]);
+            day[0] += minutes;
+            day[1] += count;
+            day[2] += cancellations;
+
+            bucket = next;
+            first = false;
+        }
+
+        daily.forEach((date, day) -> roomUsageDailyRepository.add(roomId, date, day[0], day[1], day[2]));
+    }
+}
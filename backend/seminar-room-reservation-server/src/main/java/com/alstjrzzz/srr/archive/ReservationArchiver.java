@@ -0,0 +1,62 @@
+package com.alstjrzzz.srr.archive;
+
+import com.alstjrzzz.srr.service.ReservationArchiveService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 오래된 예약을 reservation 에서 reservation_archive 로 옮겨 예약 테이블과 인덱스를 최근 예약만큼으로 유지한다.
+ * 한 트랜잭션에 batch-size 개씩 옮겨 잠금과 undo 로그를 짧게 유지하고, 한 번 실행에 max-batches 번까지만 옮긴다.
+ */
+@Component
+public class ReservationArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationArchiver.class);
+
+    private final ReservationArchiveService reservationArchiveService;
+    private final Duration age;
+    private final int batchSize;
+    private final int maxBatches;
+
+    public ReservationArchiver(ReservationArchiveService reservationArchiveService,
+                               @Value("${reservation.archive.age}") Duration age,
+                               @Value("${reservation.archive.batch-size}") int batchSize,
+                               @Value("${reservation.archive.max-batches}") int maxBatches) {
+
+        this.reservationArchiveService = reservationArchiveService;
+        this.age = age;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    /**
+     * @return 옮긴 예약 수
+     */
+    @Scheduled(cron = "${reservation.archive.cron}")
+    public int archive() {
+
+        LocalDateTime threshold = LocalDateTime.now().minus(age);
+
+        int archived = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+
+            int moved = reservationArchiveService.archiveBatch(threshold, batchSize);
+            archived += moved;
+
+            if (moved < batchSize) {
+                break;
+            }
+        }
+
+        if (archived > 0) {
+            log.info("Archived {} reservations that ended before {}", archived, threshold);
+        }
+        return archived;
+    }
+}
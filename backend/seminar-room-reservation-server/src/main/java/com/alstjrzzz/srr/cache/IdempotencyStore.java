@@ -0,0 +1,157 @@
+package com.alstjrzzz.srr.cache;
+
+import com.alstjrzzz.srr.exception.IdempotencyConflictException;
+import com.alstjrzzz.srr.exception.IdempotencyKeyMismatchException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 헤더로 들어온 요청의 결과를 일정 시간 보관한다.
+ * 같은 키로 재시도하면 DB 를 거치지 않고 처음 응답을 그대로 돌려준다.
+ * 요청 본문의 해시를 함께 저장해, 같은 키로 본문(학번 등)이 다른 요청이 오면 처음 응답 대신 거절한다.
+ * 실패한 요청은 저장하지 않으므로 재시도 시 다시 실행된다.
+ * 항목 수가 max-entries 를 넘으면 가장 오래 쓰이지 않은 키부터 지운다.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private final ObjectMapper objectMapper;
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries;
+
+    public IdempotencyStore(ObjectMapper objectMapper,
+                            @Value("${idempotency.ttl}") Duration ttl,
+                            @Value("${idempotency.max-entries}") int maxEntries) {
+
+        this.objectMapper = objectMapper;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        // 접근 순서로 정렬해 removeEldestEntry 가 가장 오래 쓰이지 않은 항목을 지운다.
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > IdempotencyStore.this.maxEntries;
+            }
+        };
+    }
+
+    private record Entry(long expiresAt, byte[] requestHash, ResponseEntity<?> response) {
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+
+    /**
+     * @param request 요청 본문. 같은 키로 들어온 요청이 같은 요청인지 비교하는 데 쓴다.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String key, String scope, Object request, Supplier<ResponseEntity<T>> action) {
+
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+
+        String storeKey = scope + ":" + key;
+        byte[] requestHash = hash(request);
+        long now = System.nanoTime();
+
+        Entry entry;
+        lock.lock();
+        try {
+            entry = entries.get(storeKey);
+            if (entry != null && entry.isExpired(now)) {
+                entries.remove(storeKey);
+                entry = null;
+            }
+            if (entry == null) {
+                // 처리 중 표시. 응답이 없는 항목은 처리 중인 요청이다.
+                entries.put(storeKey, new Entry(now + ttlNanos, requestHash, null));
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (entry != null) {
+            if (!MessageDigest.isEqual(entry.requestHash(), requestHash)) {
+                throw new IdempotencyKeyMismatchException("같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다.");
+            }
+            if (entry.response() == null) {
+                throw new IdempotencyConflictException("같은 요청을 처리 중입니다.");
+            }
+            return (ResponseEntity<T>) entry.response();
+        }
+
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            remove(storeKey);
+            throw e;
+        }
+
+        lock.lock();
+        try {
+            entries.put(storeKey, new Entry(System.nanoTime() + ttlNanos, requestHash, response));
+        } finally {
+            lock.unlock();
+        }
+
+        return response;
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+
+        long now = System.nanoTime();
+
+        lock.lock();
+        try {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().isExpired(now)) {
+                    iterator.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private byte[] hash(Object request) {
+
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("요청을 해시하지 못했습니다.", e);
+        }
+    }
+
+    private void remove(String storeKey) {
+
+        lock.lock();
+        try {
+            entries.remove(storeKey);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
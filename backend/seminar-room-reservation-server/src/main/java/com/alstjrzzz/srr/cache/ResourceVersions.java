@@ -0,0 +1,86 @@
+package com.alstjrzzz.srr.cache;
+
+import com.alstjrzzz.srr.event.ReservationChangedEvent;
+import com.alstjrzzz.srr.event.RoomChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 조회 API 의 ETag 를 만들기 위한 버전 카운터.
+ * 예약/방 변경이 커밋된 뒤에 증가하므로 버전이 같으면 응답 내용도 같다.
+ * 서버 재시작 후 카운터가 다시 0 부터 시작해도 겹치지 않도록 시작 시각을 ETag 에 함께 넣는다.
+ * 새 ETag 로 이전 캐시 값이 나가지 않도록 버전은 ScheduleCache 무효화가 끝난 뒤 마지막에 올린다.
+ */
+@Component
+public class ResourceVersions {
+
+    private final String instance = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<Long, AtomicLong> roomVersions = new ConcurrentHashMap<>();
+    private final AtomicLong allRoomsVersion = new AtomicLong();
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final AtomicLong reservationsVersion = new AtomicLong();
+
+    /**
+     * 방별 일주일 예약 현황. 조회 기간이 오늘부터이므로 날짜도 포함한다.
+     */
+    public String scheduleETag(Long roomId) {
+
+        AtomicLong roomVersion = roomVersions.get(roomId);
+
+        return "\"" + instance
+                + "-" + allRoomsVersion.get()
+                + "-" + (roomVersion == null ? 0 : roomVersion.get())
+                + "-" + LocalDate.now().toEpochDay() + "\"";
+    }
+
+    /**
+     * 방 목록
+     */
+    public String catalogETag() {
+
+        return "\"" + instance + "-" + catalogVersion.get() + "\"";
+    }
+
+    /**
+     * 전체 예약 목록(관리자용)
+     */
+    public String reservationsETag() {
+
+        return "\"" + instance + "-" + reservationsVersion.get() + "\"";
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+
+        if (event.getRoomId() == null) {
+            allRoomsVersion.incrementAndGet();
+        } else {
+            bumpRoom(event.getRoomId());
+        }
+        reservationsVersion.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onRoomChanged(RoomChangedEvent event) {
+
+        bumpRoom(event.getRoomId());
+        catalogVersion.incrementAndGet();
+        // 관리자 예약 목록에는 방 이름이 들어가고, 방을 삭제하면 예약도 함께 삭제된다.
+        reservationsVersion.incrementAndGet();
+    }
+
+    private void bumpRoom(Long roomId) {
+
+        roomVersions.computeIfAbsent(roomId, id -> new AtomicLong()).incrementAndGet();
+    }
+}
@@ -0,0 +1,187 @@
+package com.alstjrzzz.srr.cache;
+
+import com.alstjrzzz.srr.datasource.ReadYourWrites;
+import com.alstjrzzz.srr.domain.Room;
+import com.alstjrzzz.srr.dto.admin.AdminRoomResponseDTO;
+import com.alstjrzzz.srr.dto.admin.GetAdminRoomsResponseDTO;
+import com.alstjrzzz.srr.dto.room.GetRoomsResponseDTO;
+import com.alstjrzzz.srr.dto.room.RoomResponseDTO;
+import com.alstjrzzz.srr.event.RoomChangedEvent;
+import com.alstjrzzz.srr.repository.RoomRepository;
+import com.alstjrzzz.srr.repository.projection.RoomImageView;
+import com.alstjrzzz.srr.repository.projection.RoomView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 방 목록의 불변 스냅샷. 공개용/관리자용 응답 DTO 까지 미리 만들어 둔다.
+ * 방 목록은 학기에 몇 번 바뀌지 않으므로, 방이 생성/수정/삭제된 트랜잭션이 커밋될 때만 다시 만든다.
+ * 조회는 volatile 참조 하나를 읽는 것으로 끝난다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomCatalog {
+
+    private final RoomRepository roomRepository;
+    private final ReadYourWrites readYourWrites;
+
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(List<Room> rooms,
+                            Map<Long, Room> roomsById,
+                            GetRoomsResponseDTO publicView,
+                            GetAdminRoomsResponseDTO adminView) {
+    }
+
+    public List<Room> getRooms() {
+
+        return snapshot().rooms();
+    }
+
+    /**
+     * @return 없으면 null
+     */
+    public Room getRoom(Long roomId) {
+
+        return snapshot().roomsById().get(roomId);
+    }
+
+    public GetRoomsResponseDTO getPublicView() {
+
+        return snapshot().publicView();
+    }
+
+    public GetAdminRoomsResponseDTO getAdminView() {
+
+        return snapshot().adminView();
+    }
+
+    @TransactionalEventListener
+    public void onRoomChanged(RoomChangedEvent event) {
+
+        refresh();
+    }
+
+    /**
+     * 스냅샷을 버리고 DB에서 다시 만든다.
+     */
+    public void refresh() {
+
+        generation.incrementAndGet();
+        snapshot = null;
+
+        reload();
+    }
+
+    private Snapshot snapshot() {
+
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        return reload();
+    }
+
+    /**
+     * 동시에 비어 있는 스냅샷을 본 요청들이 한 번만 조회하도록 잠금 안에서 다시 만든다.
+     */
+    private Snapshot reload() {
+
+        reloadLock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current != null) {
+                return current;
+            }
+
+            long loadedGeneration = generation.get();
+            // 다음 변경 전까지 계속 쓰는 값이므로 replica 지연과 무관하게 primary 에서 읽는다.
+            Snapshot loaded = readYourWrites.onPrimary(() ->
+                    build(roomRepository.findAllRoomViews(), roomRepository.findAllRoomImages()));
+
+            // 조회하는 동안 방이 바뀌었다면 이번 결과는 이 요청에만 쓰고 보관하지 않는다.
+            if (generation.get() == loadedGeneration) {
+                snapshot = loaded;
+            }
+            return loaded;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * 방과 이미지를 projection 두 번으로 읽어 합친다. 컬렉션 fetch join 의 DISTINCT 와 entity 스냅샷이 필요 없다.
+     */
+    private Snapshot build(List<RoomView> roomViews, List<RoomImageView> roomImageViews) {
+
+        Map<Long, List<String>> imagesByRoom = roomImageViews.stream()
+                .collect(Collectors.groupingBy(RoomImageView::roomId,
+                        Collectors.mapping(RoomImageView::image, Collectors.toUnmodifiableList())));
+
+        List<Room> rooms = new ArrayList<>();
+        List<RoomResponseDTO> roomResponseDTOs = new ArrayList<>();
+        List<AdminRoomResponseDTO> adminRoomResponseDTOs = new ArrayList<>();
+
+        for (RoomView roomView : roomViews) {
+
+            List<String> images = imagesByRoom.getOrDefault(roomView.id(), List.of());
+
+            Room room = Room.builder()
+                    .id(roomView.id())
+                    .name(roomView.name())
+                    .location(roomView.location())
+                    .capacity(roomView.capacity())
+                    .equipment(roomView.equipment())
+                    .description(roomView.description())
+                    .available(roomView.available())
+                    .images(images)
+                    .createdAt(roomView.createdAt())
+                    .updatedAt(roomView.updatedAt())
+                    .build();
+            rooms.add(room);
+
+            if (room.isAvailable()) {
+                roomResponseDTOs.add(RoomResponseDTO.builder()
+                        .id(room.getId())
+                        .name(room.getName())
+                        .location(room.getLocation())
+                        .capacity(room.getCapacity())
+                        .equipment(room.getEquipment())
+                        .description(room.getDescription())
+                        .images(images)
+                        .build());
+            }
+
+            adminRoomResponseDTOs.add(AdminRoomResponseDTO.builder()
+                    .id(room.getId())
+                    .name(room.getName())
+                    .location(room.getLocation())
+                    .capacity(room.getCapacity())
+                    .equipment(room.getEquipment())
+                    .description(room.getDescription())
+                    .available(room.isAvailable())
+                    .images(images)
+                    .createdAt(room.getCreatedAt())
+                    .updatedAt(room.getUpdatedAt())
+                    .build());
+        }
+
+        return new Snapshot(
+                List.copyOf(rooms),
+                rooms.stream().collect(Collectors.toUnmodifiableMap(Room::getId, Function.identity())),
+                GetRoomsResponseDTO.builder().rooms(List.copyOf(roomResponseDTOs)).build(),
+                GetAdminRoomsResponseDTO.builder().rooms(List.copyOf(adminRoomResponseDTOs)).build());
+    }
+}
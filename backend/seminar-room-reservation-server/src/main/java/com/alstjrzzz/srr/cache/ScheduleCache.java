@@ -0,0 +1,110 @@
+package com.alstjrzzz.srr.cache;
+
+import com.alstjrzzz.srr.dto.reservation.GetReservationsResponseDTO;
+import com.alstjrzzz.srr.event.ReservationChangedEvent;
+import com.alstjrzzz.srr.event.RoomChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 방별 일주일 예약 현황을 직렬화된 JSON 바이트로 보관한다.
+ * 해당 방의 예약이 생성/취소/삭제되면 무효화되고, 조회 기간이 오늘 0시부터이므로 자정에 모두 비운다.
+ * 무효화는 ResourceVersions 의 버전 증가보다 먼저 실행되므로, 새 ETag 를 읽은 요청이 이전 값을 받지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ScheduleCache {
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final AtomicLong allRoomsGeneration = new AtomicLong();
+
+    private record Entry(LocalDate day, long generation, byte[] json) {
+    }
+
+    public byte[] get(Long roomId, Supplier<GetReservationsResponseDTO> loader) {
+
+        return get(roomId, LocalDate.now(), loader);
+    }
+
+    byte[] get(Long roomId, LocalDate today, Supplier<GetReservationsResponseDTO> loader) {
+
+        long generation = generationOf(roomId);
+
+        // 무효화 직전에 넣은 값이 아직 남아 있을 수 있으므로 세대도 같아야 쓴다.
+        Entry entry = entries.get(roomId);
+        if (entry != null && entry.day().equals(today) && entry.generation() == generation) {
+            return entry.json();
+        }
+
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(loader.get());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("예약 현황을 직렬화하지 못했습니다.", e);
+        }
+
+        Entry loaded = new Entry(today, generation, json);
+        entries.put(roomId, loaded);
+
+        // 조회하는 동안 예약이 바뀌었다면 오래된 값일 수 있으므로 버린다.
+        if (generationOf(roomId) != generation) {
+            entries.remove(roomId, loaded);
+        }
+
+        return json;
+    }
+
+    public void evict(Long roomId) {
+
+        generations.computeIfAbsent(roomId, id -> new AtomicLong()).incrementAndGet();
+        entries.remove(roomId);
+    }
+
+    @Scheduled(cron = "0 0 0 * * *")
+    public void evictAll() {
+
+        allRoomsGeneration.incrementAndGet();
+        entries.clear();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+
+        if (event.getRoomId() == null) {
+            evictAll();
+        } else {
+            evict(event.getRoomId());
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onRoomChanged(RoomChangedEvent event) {
+
+        evict(event.getRoomId());
+    }
+
+    private long generationOf(Long roomId) {
+
+        // 존재하지 않는 방 ID 조회로 맵이 커지지 않도록 무효화된 적 있는 방만 기록한다.
+        // 두 카운터 모두 증가만 하므로 합이 같으면 그 사이에 무효화되지 않았다.
+        AtomicLong generation = generations.get(roomId);
+        return allRoomsGeneration.get() + (generation == null ? 0 : generation.get());
+    }
+}
@@ -0,0 +1,145 @@
+package com.alstjrzzz.srr.calendar;
+
+import com.alstjrzzz.srr.domain.Room;
+import com.alstjrzzz.srr.repository.projection.ReservationView;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 예약을 RFC 5545 iCalendar 형식으로 바로 Writer 에 쓴다. 피드 전체를 메모리에 만들지 않는다.
+ * 시간은 서버 시간대의 LocalDateTime 을 UTC 로 바꿔 쓰므로 VTIMEZONE 이 필요 없다.
+ */
+public class ICalendarWriter {
+
+    private static final String CRLF = "\r\n";
+
+    // 한 줄은 CRLF 를 빼고 75 바이트를 넘지 않아야 하며, 넘으면 CRLF 와 공백으로 접는다.
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private static final DateTimeFormatter UTC_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private final Writer writer;
+    private final ZoneId zone;
+
+    public ICalendarWriter(Writer writer, ZoneId zone) {
+
+        this.writer = writer;
+        this.zone = zone;
+    }
+
+    public void beginCalendar(Room room) throws IOException {
+
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//alstjrzzz//seminar-room-reservation//KO");
+        line("CALSCALE:GREGORIAN");
+        line("METHOD:PUBLISH");
+        property("X-WR-CALNAME", room.getName());
+    }
+
+    public void endCalendar() throws IOException {
+
+        line("END:VCALENDAR");
+        writer.flush();
+    }
+
+    public void event(ReservationView reservationView, Room room, LocalDateTime stamp) throws IOException {
+
+        line("BEGIN:VEVENT");
+        line("UID:" + uid(reservationView.id()));
+        line("DTSTAMP:" + utc(reservationView.createdAt() == null ? stamp : reservationView.createdAt()));
+        line("DTSTART:" + utc(reservationView.startTime()));
+        line("DTEND:" + utc(reservationView.endTime()));
+        property("SUMMARY", reservationView.nickname());
+        property("DESCRIPTION", reservationView.purpose());
+        property("LOCATION", room.getLocation() == null ? room.getName() : room.getName() + " (" + room.getLocation() + ")");
+        line("STATUS:CONFIRMED");
+        line("END:VEVENT");
+    }
+
+    /**
+     * 취소/삭제된 예약. 같은 UID 의 일정을 지우도록 SEQUENCE 를 올린다.
+     */
+    public void canceledEvent(long reservationId, LocalDateTime startTime, LocalDateTime endTime, LocalDateTime stamp) throws IOException {
+
+        line("BEGIN:VEVENT");
+        line("UID:" + uid(reservationId));
+        line("DTSTAMP:" + utc(stamp));
+        line("DTSTART:" + utc(startTime));
+        line("DTEND:" + utc(endTime));
+        line("SEQUENCE:1");
+        line("STATUS:CANCELLED");
+        line("END:VEVENT");
+    }
+
+    private String uid(long reservationId) {
+
+        return "reservation-" + reservationId + "@srr";
+    }
+
+    private String utc(LocalDateTime time) {
+
+        return time.atZone(zone).withZoneSameInstant(ZoneOffset.UTC).format(UTC_FORMAT);
+    }
+
+    private void property(String name, String value) throws IOException {
+
+        if (value == null) {
+            return;
+        }
+
+        StringBuilder builder = new StringBuilder(name.length() + value.length() + 8).append(name).append(':');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> builder.append('\\').append(c);
+                case '\n' -> builder.append("\\n");
+                case '\r' -> {
+                }
+                default -> builder.append(c);
+            }
+        }
+        line(builder);
+    }
+
+    private void line(CharSequence content) throws IOException {
+
+        int octets = 0;
+        int i = 0;
+        while (i < content.length()) {
+
+            int codePoint = Character.codePointAt(content, i);
+            int width = utf8Length(codePoint);
+
+            if (octets + width > MAX_LINE_OCTETS) {
+                writer.write(CRLF);
+                writer.write(' ');
+                octets = 1;
+            }
+
+            // 서로게이트 쌍은 같은 줄에 함께 쓴다.
+            int next = i + Character.charCount(codePoint);
+            while (i < next) {
+                writer.write(content.charAt(i++));
+            }
+            octets += width;
+        }
+        writer.write(CRLF);
+    }
+
+    private static int utf8Length(int codePoint) {
+
+        if (codePoint < 0x80) {
+            return 1;
+        }
+        if (codePoint < 0x800) {
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+}
@@ -0,0 +1,131 @@
+package com.alstjrzzz.srr.calendar;
+
+import com.alstjrzzz.srr.event.ReservationChangedEvent;
+import com.alstjrzzz.srr.event.RoomChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 캘린더 피드의 증분 동기화를 위한 방별 예약 변경 기록.
+ * 모든 변경에 하나씩 증가하는 번호를 붙이고, 동기화 토큰은 마지막으로 본 번호다.
+ * 방마다 최근 journal-size 개만 보관하며, 그보다 오래된 토큰이나 재시작 전에 받은 토큰이면 전체 피드를 다시 받아야 한다.
+ */
+@Component
+public class ReservationChangeLog {
+
+    public record Change(long sequence,
+                         ReservationChangedEvent.Type type,
+                         long reservationId,
+                         LocalDateTime startTime,
+                         LocalDateTime endTime) {
+    }
+
+    private static final class RoomLog {
+
+        private final Deque<Change> changes = new ArrayDeque<>();
+
+        // 이 번호까지의 변경은 버려졌으므로, 이보다 작은 토큰으로는 증분을 만들 수 없다.
+        private long floor;
+    }
+
+    // 서버가 재시작되면 번호가 다시 시작되므로 토큰에 시작 시각을 넣어 구분한다.
+    private final String instance = Long.toString(System.currentTimeMillis(), 36);
+
+    private final int journalSize;
+
+    private final Map<Long, RoomLog> rooms = new HashMap<>();
+
+    // 기록을 마친 뒤에 증가시키므로, 이 값까지의 변경은 모두 rooms 에 들어 있다.
+    private volatile long sequence = 0;
+
+    // 방을 알 수 없는 변경이 있었으면 그 이전 토큰은 모두 전체 동기화한다.
+    private long resetSequence = 0;
+
+    public ReservationChangeLog(@Value("${reservation.calendar.journal-size}") int journalSize) {
+
+        this.journalSize = journalSize;
+    }
+
+    public String currentToken() {
+
+        return instance + "-" + sequence;
+    }
+
+    /**
+     * @return token 이후 이 방의 변경을 오래된 순으로. 토큰을 해석할 수 없거나 기록이 부족하면 null
+     */
+    public synchronized List<Change> changesSince(Long roomId, String token) {
+
+        long since = parse(token);
+        if (since < 0 || since > sequence || since < resetSequence) {
+            return null;
+        }
+
+        RoomLog room = rooms.get(roomId);
+        if (room == null) {
+            return List.of();
+        }
+        if (since < room.floor) {
+            return null;
+        }
+
+        List<Change> changes = new ArrayList<>();
+        for (Change change : room.changes) {
+            if (change.sequence() > since) {
+                changes.add(change);
+            }
+        }
+        return changes;
+    }
+
+    @TransactionalEventListener
+    public synchronized void onReservationChanged(ReservationChangedEvent event) {
+
+        long next = sequence + 1;
+
+        if (event.getRoomId() == null) {
+            resetSequence = next;
+        } else {
+            RoomLog room = rooms.computeIfAbsent(event.getRoomId(), id -> new RoomLog());
+            room.changes.addLast(new Change(next, event.getType(), event.getReservationId(),
+                    event.getStartTime(), event.getEndTime()));
+
+            if (room.changes.size() > journalSize) {
+                room.floor = room.changes.removeFirst().sequence();
+            }
+        }
+
+        sequence = next;
+    }
+
+    @TransactionalEventListener
+    public synchronized void onRoomChanged(RoomChangedEvent event) {
+
+        if (event.getType() == RoomChangedEvent.Type.DELETED) {
+            rooms.remove(event.getRoomId());
+        }
+    }
+
+    private long parse(String token) {
+
+        int separator = token.lastIndexOf('-');
+        if (separator != instance.length() || !token.startsWith(instance)) {
+            return -1;
+        }
+
+        try {
+            return Long.parseLong(token, separator + 1, token.length(), 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.alstjrzzz.srr.calendar;
+
+import com.alstjrzzz.srr.domain.Room;
+import com.alstjrzzz.srr.event.ReservationChangedEvent;
+import com.alstjrzzz.srr.repository.projection.ReservationView;
+import com.alstjrzzz.srr.service.ReservationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 방 하나의 예약 캘린더 피드를 만든다.
+ * 전체 피드는 history 전부터 예약 가능 기간 끝까지의 예약을 DB 커서에서 읽는 대로 쓰고,
+ * 증분 피드는 ReservationChangeLog 의 변경만 쓴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomCalendarFeed {
+
+    private final ReservationService reservationService;
+
+    @Value("${reservation.calendar.history}")
+    private Duration history;
+
+    public void writeFull(Room room, Writer writer) throws IOException {
+
+        ICalendarWriter calendar = new ICalendarWriter(writer, ZoneId.systemDefault());
+        LocalDateTime now = LocalDateTime.now();
+
+        // 예약은 최대 7일 뒤까지 가능하므로 8일 뒤 0시까지 읽으면 모두 포함된다.
+        LocalDate today = now.toLocalDate();
+        LocalDateTime from = today.atStartOfDay().minus(history);
+        LocalDateTime to = today.plusDays(8).atStartOfDay();
+
+        calendar.beginCalendar(room);
+        try {
+            reservationService.forEachReservationByRoom(room.getId(), from, to, reservationView -> {
+                try {
+                    calendar.event(reservationView, room, now);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        calendar.endCalendar();
+    }
+
+    /**
+     * 같은 예약의 변경은 마지막 것만 쓴다. 생성된 예약은 내용을 DB 에서 한 번에 읽는다.
+     */
+    public void writeChanges(Room room, List<ReservationChangeLog.Change> changes, Writer writer) throws IOException {
+
+        ICalendarWriter calendar = new ICalendarWriter(writer, ZoneId.systemDefault());
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Long, ReservationChangeLog.Change> latest = new LinkedHashMap<>();
+        for (ReservationChangeLog.Change change : changes) {
+            latest.remove(change.reservationId());
+            latest.put(change.reservationId(), change);
+        }
+
+        List<Long> createdIds = new ArrayList<>();
+        for (ReservationChangeLog.Change change : latest.values()) {
+            if (change.type() == ReservationChangedEvent.Type.CREATED) {
+                createdIds.add(change.reservationId());
+            }
+        }
+
+        Map<Long, ReservationView> created = reservationService.findReservationsByIds(createdIds)
+                .stream()
+                .collect(Collectors.toMap(ReservationView::id, Function.identity()));
+
+        calendar.beginCalendar(room);
+        for (ReservationChangeLog.Change change : latest.values()) {
+
+            ReservationView reservationView = created.get(change.reservationId());
+            if (reservationView != null) {
+                calendar.event(reservationView, room, now);
+            } else {
+                // 생성 후 바로 취소되어 아직 기록되지 않은 경우도 취소로 보낸다.
+                calendar.canceledEvent(change.reservationId(), change.startTime(), change.endTime(), now);
+            }
+        }
+        calendar.endCalendar();
+    }
+}
@@ -0,0 +1,65 @@
+package com.alstjrzzz.srr.config;
+
+import com.alstjrzzz.srr.datasource.ReadYourWrites;
+import com.alstjrzzz.srr.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * spring.datasource.replica.jdbc-url 이 있으면 읽기 전용 트랜잭션을 replica 로 보낸다.
+ * 쓰기와 Flyway 마이그레이션은 spring.datasource 의 primary 로 간다.
+ * 설정하지 않으면 Spring Boot 기본 DataSource 하나만 사용한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.datasource.replica", name = "jdbc-url")
+public class DataSourceConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    /**
+     * jdbc-url, username, password, driver-class-name 과 HikariCP 설정(maximum-pool-size 등)을 그대로 받는다.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .build();
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    /**
+     * 트랜잭션이 readOnly 인지는 연결을 가져오기 전에야 알 수 있으므로, 첫 쿼리 시점까지 연결을 미룬다.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReadYourWrites readYourWrites) {
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, readYourWrites));
+        return dataSource;
+    }
+}
@@ -1,28 +1,46 @@
 package com.alstjrzzz.srr.controller;
 
+import com.alstjrzzz.srr.cache.ResourceVersions;
+import com.alstjrzzz.srr.cache.RoomCatalog;
+import com.alstjrzzz.srr.domain.ReservationFilter;
 import com.alstjrzzz.srr.domain.Room;
+import com.alstjrzzz.srr.domain.RoomUsage;
 import com.alstjrzzz.srr.dto.admin.*;
 import com.alstjrzzz.srr.dto.room.CreateRoomRequestDTO;
 import com.alstjrzzz.srr.dto.room.UpdateRoomRequestDTO;
+import com.alstjrzzz.srr.entity.ReservationEntity;
 import com.alstjrzzz.srr.service.AdminService;
 import com.alstjrzzz.srr.service.ReservationService;
 import com.alstjrzzz.srr.service.RoomService;
+import com.alstjrzzz.srr.service.RoomUsageService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -32,6 +50,10 @@ public class AdminController {
     private final AdminService adminService;
     private final ReservationService reservationService;
     private final RoomService roomService;
+    private final RoomUsageService roomUsageService;
+    private final ResourceVersions resourceVersions;
+    private final RoomCatalog roomCatalog;
+    private final ObjectMapper objectMapper;
 
     /**
      * 관리자 로그인
@@ -53,21 +75,116 @@ public class AdminController {
 
     /**
      * 예약 현황 확인(관리자용)
+     * (startTime, id) 순서의 keyset 페이지로 응답한다. 다음 페이지는 nextCursor 를 cursor 로 넘겨 받는다.
+     * @param roomId
+     * @param from 시작 시간이 from 이후인 예약
+     * @param to 시작 시간이 to 이전인 예약
+     * @param studentId
+     * @param studentName
+     * @param cursor 이전 응답의 nextCursor
+     * @param size 최대 500
+     * @param webRequest If-None-Match 가 현재 ETag 와 같으면 DB 조회 없이 304 를 응답한다.
      * @return
      */
     @GetMapping("/api/admin/reservation")
-    public ResponseEntity<GetAdminReservationsResponseDTO> getAdminReservations() {
+    public ResponseEntity<GetAdminReservationsResponseDTO> getAdminReservations(
+            @RequestParam(value = "roomId", required = false) Long roomId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "studentId", required = false) Integer studentId,
+            @RequestParam(value = "studentName", required = false) String studentName,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "100") int size,
+            WebRequest webRequest) {
+
+        String eTag = resourceVersions.reservationsETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        int pageSize = Math.clamp(size, 1, 500);
+        ReservationFilter filter = toReservationFilter(roomId, from, to, studentId, studentName);
+
+        List<ReservationEntity> reservationEntities = reservationService.findReservations(
+                filter,
+                cursor == null ? null : AdminReservationCursor.decode(cursor),
+                pageSize);
 
-        List<AdminReservationResponseDTO> reservations = reservationService.findAllReservations()
+        List<AdminReservationResponseDTO> reservations = reservationEntities
                 .stream()
                 .map(AdminReservationResponseDTO::from)
                 .collect(Collectors.toList());
 
+        String nextCursor = null;
+        if (reservationEntities.size() == pageSize) {
+            ReservationEntity last = reservationEntities.get(reservationEntities.size() - 1);
+            nextCursor = new AdminReservationCursor(last.getStartTime(), last.getId()).encode();
+        }
+
         GetAdminReservationsResponseDTO getAllReservationsResponseDTO = GetAdminReservationsResponseDTO.builder()
                 .reservations(reservations)
+                .nextCursor(nextCursor)
                 .build();
 
-        return ResponseEntity.ok().body(getAllReservationsResponseDTO);
+        return ResponseEntity.ok().eTag(eTag).body(getAllReservationsResponseDTO);
+    }
+
+    /**
+     * 예약 현황 전체 내려받기(관리자용)
+     * 조건에 맞는 예약을 DB 커서에서 한 건씩 읽어 바로 JSON 으로 쓴다. 응답 형식은 {"reservations":[...]}.
+     * @param roomId
+     * @param from
+     * @param to
+     * @param studentId
+     * @param studentName
+     * @param response
+     * @throws IOException
+     */
+    @GetMapping("/api/admin/reservation/stream")
+    public void streamAdminReservations(
+            @RequestParam(value = "roomId", required = false) Long roomId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "studentId", required = false) Integer studentId,
+            @RequestParam(value = "studentName", required = false) String studentName,
+            HttpServletResponse response) throws IOException {
+
+        ReservationFilter filter = toReservationFilter(roomId, from, to, studentId, studentName);
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+
+        try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("reservations");
+
+            reservationService.forEachReservation(filter, reservationEntity -> {
+                try {
+                    generator.writeObject(AdminReservationResponseDTO.from(reservationEntity));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private ReservationFilter toReservationFilter(Long roomId, LocalDateTime from, LocalDateTime to,
+                                                  Integer studentId, String studentName) {
+
+        return ReservationFilter.builder()
+                .roomId(roomId)
+                .from(from)
+                .to(to)
+                .studentId(studentId)
+                .studentName(studentName == null || studentName.isBlank() ? null : studentName.trim())
+                .build();
     }
 
     /**
@@ -88,6 +205,31 @@ public class AdminController {
         return ResponseEntity.ok("예약이 취소되었습니다.");
     }
 
+    /**
+     * 예약 일괄 삭제(관리자용)
+     * @param requestDTO
+     * @param bindingResult
+     * @return
+     */
+    @DeleteMapping("/api/admin/reservation/bulk")
+    public ResponseEntity<BulkDeleteReservationsResponseDTO> deleteReservations(@Valid @RequestBody BulkDeleteReservationsRequestDTO requestDTO, BindingResult bindingResult) {
+
+        if (bindingResult.hasErrors()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        int deletedCount = reservationService.deleteReservations(
+                requestDTO.getRoomIds(),
+                requestDTO.getStartTime(),
+                requestDTO.getEndTime());
+
+        BulkDeleteReservationsResponseDTO bulkDeleteReservationsResponseDTO = BulkDeleteReservationsResponseDTO.builder()
+                .deletedCount(deletedCount)
+                .build();
+
+        return ResponseEntity.ok().body(bulkDeleteReservationsResponseDTO);
+    }
+
     /**
      * 방 생성(관리자용)
      * @param requestDTO
@@ -165,56 +307,106 @@ public class AdminController {
 
     /**
      * 방 현황 확인(관리자용)
+     * @param webRequest If-None-Match 가 현재 ETag 와 같으면 DB 조회 없이 304 를 응답한다.
      * @return
      */
     @GetMapping("/api/admin/room")
-    public ResponseEntity<GetAdminRoomsResponseDTO> getAdminRooms() {
+    public ResponseEntity<GetAdminRoomsResponseDTO> getAdminRooms(WebRequest webRequest) {
 
-        List<Room> rooms = roomService.getAllRooms();
+        String eTag = resourceVersions.catalogETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(roomCatalog.getAdminView());
+    }
 
-        List<AdminRoomResponseDTO> adminRoomResponseDTOs = new ArrayList<>();
+    /**
+     * 방 이용 통계(관리자용)
+     * 예약 변경 때마다 쌓아 둔 시간별/일별 통계를 읽으므로 예약 테이블을 조회하지 않는다.
+     * @param granularity HOUR 또는 DAY. 기간은 각각 정시, 0시 단위로 넓혀서 조회한다.
+     * @param roomId 없으면 모든 방
+     * @param from 기본값은 이번 주 월요일 0시
+     * @param to 기본값은 from 으로부터 7일 뒤
+     * @return
+     */
+    @GetMapping("/api/admin/usage")
+    public ResponseEntity<GetRoomUsageResponseDTO> getRoomUsage(
+            @RequestParam(value = "granularity", defaultValue = "DAY") RoomUsage.Granularity granularity,
+            @RequestParam(value = "roomId", required = false) Long roomId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        if (from == null) {
+            from = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+        }
+        if (to == null) {
+            to = from.plusDays(7);
+        }
+
+        ChronoUnit unit = granularity == RoomUsage.Granularity.HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+        from = from.truncatedTo(unit);
+        to = to.truncatedTo(unit).equals(to) ? to : to.truncatedTo(unit).plus(1, unit);
+
+        List<Room> rooms = roomId == null ? roomCatalog.getRooms() : List.of(roomService.getRoom(roomId));
+
+        Map<Long, List<RoomUsage>> usageByRoom = roomUsageService.findUsage(granularity, roomId, from, to)
+                .stream()
+                .collect(Collectors.groupingBy(RoomUsage::getRoomId));
+
+        long rangeMinutes = Duration.between(from, to).toMinutes();
+
+        List<RoomUsageSummaryResponseDTO> roomList = new ArrayList<>();
         for (Room room : rooms) {
 
-            adminRoomResponseDTOs.add(AdminRoomResponseDTO.builder()
-                    .id(room.getId())
-                    .name(room.getName())
-                    .location(room.getLocation())
-                    .capacity(room.getCapacity())
-                    .equipment(room.getEquipment())
-                    .description(room.getDescription())
-                    .available(room.isAvailable())
-                    .images(room.getImages())
-                    .createdAt(room.getCreatedAt())
-                    .updatedAt(room.getUpdatedAt())
+            List<RoomUsage> usages = usageByRoom.getOrDefault(room.getId(), List.of());
+
+            long bookedMinutes = 0;
+            int reservationCount = 0;
+            int cancellationCount = 0;
+            for (RoomUsage usage : usages) {
+                bookedMinutes += usage.getBookedMinutes();
+                reservationCount += usage.getReservationCount();
+                cancellationCount += usage.getCancellationCount();
+            }
+
+            roomList.add(RoomUsageSummaryResponseDTO.builder()
+                    .roomId(room.getId())
+                    .roomName(room.getName())
+                    .bookedMinutes(bookedMinutes)
+                    .reservationCount(reservationCount)
+                    .cancellationCount(cancellationCount)
+                    .occupancyRate((double) bookedMinutes / rangeMinutes)
+                    .usageList(usages.stream()
+                            .map(RoomUsageResponseDTO::from)
+                            .collect(Collectors.toList()))
                     .build());
         }
 
-        GetAdminRoomsResponseDTO getAdminRoomsResponseDTO = GetAdminRoomsResponseDTO.builder()
-                .rooms(adminRoomResponseDTOs)
-                .build();
-
-        return ResponseEntity.ok().body(getAdminRoomsResponseDTO);
+        return ResponseEntity.ok(GetRoomUsageResponseDTO.builder()
+                .granularity(granularity)
+                .from(from)
+                .to(to)
+                .roomList(roomList)
+                .build());
     }
 
     /**
      * 로그 다운로드
+     * 로그 파일을 읽는 대로 엑셀에 써서 응답 스트림으로 바로 내보낸다.
      * @param response
-     * @return
      * @throws IOException
      */
     @GetMapping("/api/admin/log")
-    public ResponseEntity<byte[]> downloadLog(HttpServletResponse response) throws IOException {
-
-        byte[] excelBytes = adminService.downloadLog();
+    public void downloadLog(HttpServletResponse response) throws IOException {
 
         String now = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
         String fileName = "log_" + now + ".xlsx";
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.valueOf("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
-        headers.setContentDispositionFormData("attachment", fileName);
-        headers.setContentLength(excelBytes.length);
+        response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.formData().name("attachment").filename(fileName).build().toString());
 
-        return new ResponseEntity<>(excelBytes, headers, HttpStatus.OK);
+        adminService.downloadLog(response.getOutputStream());
     }
 }
@@ -1,51 +1,116 @@
 package com.alstjrzzz.srr.controller;
 
+import com.alstjrzzz.srr.admission.ReservationAdmissionQueue;
+import com.alstjrzzz.srr.calendar.ReservationChangeLog;
+import com.alstjrzzz.srr.calendar.RoomCalendarFeed;
+import com.alstjrzzz.srr.cache.IdempotencyStore;
+import com.alstjrzzz.srr.cache.ResourceVersions;
+import com.alstjrzzz.srr.cache.ScheduleCache;
+import com.alstjrzzz.srr.datasource.ReadYourWrites;
 import com.alstjrzzz.srr.domain.Reservation;
+import com.alstjrzzz.srr.domain.Room;
 import com.alstjrzzz.srr.dto.reservation.*;
 import com.alstjrzzz.srr.service.ReservationService;
+import com.alstjrzzz.srr.service.RoomService;
+import com.alstjrzzz.srr.stream.ReservationEventBroadcaster;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
 @RequiredArgsConstructor
 public class ReservationController {
 
+    public static final String SYNC_TOKEN_HEADER = "X-Sync-Token";
+    public static final String SYNC_MODE_HEADER = "X-Sync-Mode";
+
     private final ReservationService reservationService;
+    private final RoomService roomService;
+    private final IdempotencyStore idempotencyStore;
+    private final ReservationAdmissionQueue reservationAdmissionQueue;
+    private final ScheduleCache scheduleCache;
+    private final ResourceVersions resourceVersions;
+    private final ReservationEventBroadcaster reservationEventBroadcaster;
+    private final ReservationChangeLog reservationChangeLog;
+    private final RoomCalendarFeed roomCalendarFeed;
+    private final ReadYourWrites readYourWrites;
+
+    @Value("${reservation.calendar.max-age}")
+    private Duration calendarMaxAge;
 
     /**
      * 예약하기
      * @param requestDTO
      * @param bindingResult
+     * @param idempotencyKey 재시도 시 같은 값을 보내면 처음 응답을 그대로 돌려준다. 본문이 다르면 422 로 거절한다.
      * @return
      */
     @PostMapping("/api/reservation")
-    public ResponseEntity<String> createReservation(@Valid @RequestBody CreateReservationRequestDTO requestDTO, BindingResult bindingResult) {
+    public ResponseEntity<String> createReservation(@Valid @RequestBody CreateReservationRequestDTO requestDTO, BindingResult bindingResult,
+                                                    @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
 
         if (bindingResult.hasErrors()) {
             return ResponseEntity.badRequest().body("입력값이 잘못되었습니다.");
         }
 
-        Reservation reservation = Reservation.builder()
-//              .id()
-                .roomId(requestDTO.getRoomId())
-                .nickname(requestDTO.getNickname())
-                .studentName(requestDTO.getStudentName())
-                .studentId(requestDTO.getStudentId())
-                .phoneNumber(requestDTO.getPhoneNumber())
-                .purpose(requestDTO.getPurpose())
-                .startTime(requestDTO.getStartTime())
-                .endTime(requestDTO.getEndTime())
-//              .createdAt()
-                .build();
+        return idempotencyStore.execute(idempotencyKey, "POST /api/reservation", requestDTO, () -> {
+
+            Reservation reservation = toReservation(requestDTO);
+
+            reservationAdmissionQueue.admit(reservation.getRoomId(), () -> {
+                reservationService.reservation(reservation);
+                return null;
+            });
 
-        reservationService.reservation(reservation);
+            return ResponseEntity.ok("예약이 완료되었습니다.");
+        });
+    }
+
+    /**
+     * 여러 시간대 한 번에 예약하기
+     * @param requestDTO
+     * @param bindingResult
+     * @return
+     */
+    @PostMapping("/api/reservation/batch")
+    public ResponseEntity<String> createReservations(@Valid @RequestBody CreateReservationsRequestDTO requestDTO, BindingResult bindingResult) {
+
+        if (bindingResult.hasErrors()) {
+            return ResponseEntity.badRequest().body("입력값이 잘못되었습니다.");
+        }
+
+        List<Reservation> reservations = requestDTO.getReservationList()
+                .stream()
+                .map(this::toReservation)
+                .collect(Collectors.toList());
+
+        reservationAdmissionQueue.admit(null, () -> {
+            reservationService.reservations(reservations);
+            return null;
+        });
 
         return ResponseEntity.ok("예약이 완료되었습니다.");
     }
@@ -54,37 +119,204 @@ public class ReservationController {
      * 예약 취소하기
      * @param requestDTO
      * @param bindingResult
+     * @param idempotencyKey 재시도 시 같은 값을 보내면 처음 응답을 그대로 돌려준다. 본문이 다르면 422 로 거절한다.
      * @return
      */
     @DeleteMapping("/api/reservation")
-    public ResponseEntity<String> cancelReservation(@Valid @RequestBody CancelReservationRequestDTO requestDTO, BindingResult bindingResult) {
+    public ResponseEntity<String> cancelReservation(@Valid @RequestBody CancelReservationRequestDTO requestDTO, BindingResult bindingResult,
+                                                    @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
 
         if (bindingResult.hasErrors()) {
             return ResponseEntity.badRequest().body("입력값이 잘못되었습니다.");
         }
 
-        reservationService.cancelReservation(requestDTO);
+        return idempotencyStore.execute(idempotencyKey, "DELETE /api/reservation", requestDTO, () -> {
+
+            reservationService.cancelReservation(requestDTO);
 
-        return ResponseEntity.ok("예약이 취소되었습니다.");
+            return ResponseEntity.ok("예약이 취소되었습니다.");
+        });
     }
 
     /**
      * 예약 현황 확인하기
      * @param roomId
+     * @param webRequest If-None-Match 가 현재 ETag 와 같으면 DB 조회 없이 304 를 응답한다.
      * @return
      */
     @GetMapping("/api/reservation/{roomId}")
-    public ResponseEntity<GetReservationsResponseDTO> getReservations(@NotNull @PathVariable("roomId") Long roomId) {
+    public ResponseEntity<byte[]> getReservations(@NotNull @PathVariable("roomId") Long roomId, WebRequest webRequest) {
+
+        String eTag = resourceVersions.scheduleETag(roomId);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        // 캐시에 있으면 DB 조회와 DTO 변환 없이 직렬화된 JSON 을 그대로 응답한다.
+        // 캐시는 다음 변경까지 값을 유지하므로 replica 지연으로 오래된 값이 남지 않도록 primary 에서 읽는다.
+        byte[] body = scheduleCache.get(roomId, () -> readYourWrites.onPrimary(() -> {
+
+            List<ReservationResponseDTO> reservationList = reservationService.findReservationsByRoomForNextWeek(roomId)
+                    .stream()
+                    .map(ReservationResponseDTO::from)
+                    .collect(Collectors.toList());
+
+            return GetReservationsResponseDTO.builder()
+                    .reservationList(reservationList)
+                    .build();
+        }));
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * 여러 방의 예약 현황 한 번에 확인하기
+     * @param roomIds 중복은 하나로 합친다.
+     * @param from 기본값은 오늘 0시
+     * @param to 기본값은 from 으로부터 7일 뒤
+     * @return
+     */
+    @GetMapping("/api/reservation")
+    public ResponseEntity<GetRoomsReservationsResponseDTO> getReservationsByRooms(
+            @RequestParam("roomIds") Set<Long> roomIds,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        if (from == null) {
+            from = LocalDate.now().atStartOfDay();
+        }
+        if (to == null) {
+            to = from.plusDays(7);
+        }
 
-        List<ReservationResponseDTO> reservationList = reservationService.findReservationsByRoomForNextWeek(roomId)
+        List<RoomReservationsResponseDTO> roomList = reservationService.findReservationsByRooms(roomIds, from, to)
+                .entrySet()
                 .stream()
-                .map(ReservationResponseDTO::from)
+                .map(entry -> RoomReservationsResponseDTO.builder()
+                        .roomId(entry.getKey())
+                        .reservationList(entry.getValue()
+                                .stream()
+                                .map(ReservationResponseDTO::from)
+                                .collect(Collectors.toList()))
+                        .build())
                 .collect(Collectors.toList());
 
-        GetReservationsResponseDTO getReservationsResponseDTO = GetReservationsResponseDTO.builder()
-                .reservationList(reservationList)
-                .build();
+        return ResponseEntity.ok(GetRoomsReservationsResponseDTO.builder()
+                .from(from)
+                .to(to)
+                .roomList(roomList)
+                .build());
+    }
+
+    /**
+     * 빈 시간 찾기
+     * 조건에 맞는 방에서 duration 동안 예약 가능한 시작 시간을 이른 순으로 찾는다.
+     * @param duration 분 단위
+     * @param from
+     * @param to
+     * @param capacity 최소 수용 인원
+     * @param equipment 필요한 비품. 모두 갖춘 방만 찾는다.
+     * @param limit
+     * @return
+     */
+    @GetMapping("/api/reservation/search")
+    public ResponseEntity<SearchFreeSlotsResponseDTO> searchFreeSlots(
+            @RequestParam("duration") int duration,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "capacity", defaultValue = "1") int capacity,
+            @RequestParam(value = "equipment", required = false) List<String> equipment,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+
+        List<FreeSlotResponseDTO> slotList = reservationService.findFreeSlots(
+                        Duration.ofMinutes(duration), from, to, capacity,
+                        equipment == null ? List.of() : equipment,
+                        Math.clamp(limit, 1, 100))
+                .stream()
+                .map(FreeSlotResponseDTO::from)
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok(SearchFreeSlotsResponseDTO.builder()
+                .slotList(slotList)
+                .build());
+    }
+
+    /**
+     * 예약 변경 실시간 구독하기(SSE)
+     * created, canceled, deleted 이벤트로 예약 ID와 시간을 전달한다.
+     * @param roomId
+     * @return
+     */
+    @GetMapping(value = "/api/reservation/{roomId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamReservations(@NotNull @PathVariable("roomId") Long roomId) {
+
+        roomService.checkRoomExists(roomId);
+
+        return reservationEventBroadcaster.subscribe(roomId);
+    }
+
+    /**
+     * 방 예약 캘린더(iCalendar) 구독하기
+     * since 가 없거나 더 이상 이어 받을 수 없는 토큰이면 전체 피드를, 아니면 since 이후 생성/취소된 예약만 응답한다.
+     * 어느 쪽인지는 X-Sync-Mode(full, delta) 헤더로, 다음 요청에 쓸 토큰은 X-Sync-Token 헤더로 알려준다.
+     * @param roomId
+     * @param since 이전 응답의 X-Sync-Token
+     * @param webRequest 전체 피드는 If-None-Match 가 현재 ETag 와 같으면 DB 조회 없이 304 를 응답한다.
+     * @param response
+     * @throws IOException
+     */
+    @GetMapping("/api/reservation/{roomId}/calendar.ics")
+    public void getCalendar(@NotNull @PathVariable("roomId") Long roomId,
+                            @RequestParam(value = "since", required = false) String since,
+                            WebRequest webRequest,
+                            HttpServletResponse response) throws IOException {
+
+        Room room = roomService.getRoom(roomId);
+
+        // DB 를 읽기 전에 토큰을 정해야 읽는 동안 생긴 변경이 다음 증분에서 빠지지 않는다.
+        String syncToken = reservationChangeLog.currentToken();
+        List<ReservationChangeLog.Change> changes = since == null ? null : reservationChangeLog.changesSince(roomId, since);
+
+        response.setHeader(SYNC_TOKEN_HEADER, syncToken);
+
+        if (changes == null) {
+            response.setHeader(SYNC_MODE_HEADER, "full");
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(calendarMaxAge).cachePublic().getHeaderValue());
+            if (webRequest.checkNotModified(resourceVersions.scheduleETag(roomId))) {
+                return;
+            }
+        } else {
+            response.setHeader(SYNC_MODE_HEADER, "delta");
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        }
+
+        response.setContentType("text/calendar");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        if (changes == null) {
+            roomCalendarFeed.writeFull(room, writer);
+        } else {
+            roomCalendarFeed.writeChanges(room, changes, writer);
+        }
+    }
+
+    private Reservation toReservation(CreateReservationRequestDTO requestDTO) {
 
-        return ResponseEntity.ok().body(getReservationsResponseDTO);
+        return Reservation.builder()
+//              .id()
+                .roomId(requestDTO.getRoomId())
+                .nickname(requestDTO.getNickname())
+                .studentName(requestDTO.getStudentName())
+                .studentId(requestDTO.getStudentId())
+                .phoneNumber(requestDTO.getPhoneNumber())
+                .purpose(requestDTO.getPurpose())
+                .startTime(requestDTO.getStartTime())
+                .endTime(requestDTO.getEndTime())
+//              .createdAt()
+                .build();
     }
 }
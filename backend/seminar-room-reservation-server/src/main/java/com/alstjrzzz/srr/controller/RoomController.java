@@ -1,54 +1,35 @@
 package com.alstjrzzz.srr.controller;
 
-import com.alstjrzzz.srr.domain.Room;
+import com.alstjrzzz.srr.cache.ResourceVersions;
+import com.alstjrzzz.srr.cache.RoomCatalog;
 import com.alstjrzzz.srr.dto.room.GetRoomsResponseDTO;
-import com.alstjrzzz.srr.dto.room.RoomResponseDTO;
-import com.alstjrzzz.srr.service.RoomService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.ArrayList;
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequiredArgsConstructor
 public class RoomController {
 
-    private final RoomService roomService;
+    private final RoomCatalog roomCatalog;
+    private final ResourceVersions resourceVersions;
 
     /**
      * 방 현황 확인
+     * @param webRequest If-None-Match 가 현재 ETag 와 같으면 304 를 응답한다.
+     *                   아니면 미리 만들어 둔 방 목록 응답을 그대로 돌려준다.
      * @return
      */
     @GetMapping("/api/room")
-    public ResponseEntity<GetRoomsResponseDTO> getRooms() {
-
-        List<Room> rooms = roomService.getAllRooms();
-
-        List<RoomResponseDTO> roomResponseDTOs = new ArrayList<>();
-        for (Room room : rooms) {
+    public ResponseEntity<GetRoomsResponseDTO> getRooms(WebRequest webRequest) {
 
-            if (!room.isAvailable()) {
-                continue;
-            }
-
-            roomResponseDTOs.add(RoomResponseDTO.builder()
-                    .id(room.getId())
-                    .name(room.getName())
-                    .location(room.getLocation())
-                    .capacity(room.getCapacity())
-                    .equipment(room.getEquipment())
-                    .description(room.getDescription())
-                    .images(room.getImages())
-                    .build());
+        String eTag = resourceVersions.catalogETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
         }
 
-        GetRoomsResponseDTO getRoomsResponseDTO = GetRoomsResponseDTO.builder()
-                .rooms(roomResponseDTOs)
-                .build();
-
-        return ResponseEntity.ok().body(getRoomsResponseDTO);
+        return ResponseEntity.ok().eTag(eTag).body(roomCatalog.getPublicView());
     }
 }
@@ -0,0 +1,153 @@
+package com.alstjrzzz.srr.datasource;
+
+import com.alstjrzzz.srr.event.ReservationChangedEvent;
+import com.alstjrzzz.srr.event.RoomChangedEvent;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 읽기 전용 트랜잭션을 replica 대신 primary 로 보내야 하는지 판단한다.
+ * 예약한 사용자가 바로 예약 현황을 다시 조회할 때 복제 지연으로 자신의 예약이 보이지 않으면 안 되므로,
+ * 예약/방을 변경한 요청의 응답에 window 동안 유효한 쿠키를 붙이고, 그 쿠키를 가진 요청의 읽기만 primary 로 보낸다.
+ * 다른 사용자의 읽기는 계속 replica 로 간다. window 는 replica 지연보다 길게 잡는다.
+ * 캐시와 인덱스처럼 한 번 읽은 값을 계속 쓰는 곳은 onPrimary 로 항상 primary 에서 읽는다.
+ * replica 가 설정되지 않았으면 모든 연결이 primary 이므로 아무 효과가 없다.
+ */
+@Component
+public class ReadYourWrites {
+
+    // 값은 primary 를 써야 하는 시각(epoch millis). 서버가 여러 대여도 같은 기준으로 판단한다.
+    public static final String COOKIE_NAME = "srr_primary_until";
+
+    private static final String PRIMARY_UNTIL_ATTRIBUTE = ReadYourWrites.class.getName() + ".primaryUntil";
+    private static final String COOKIE_ADDED_ATTRIBUTE = ReadYourWrites.class.getName() + ".cookieAdded";
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final Duration window;
+
+    public ReadYourWrites(@Value("${reservation.read-your-writes.window}") Duration window) {
+
+        this.window = window;
+    }
+
+    /**
+     * 현재 스레드의 읽기를 primary 로 보내야 하면 true
+     */
+    public boolean isPrimaryRequired() {
+
+        if (PINNED.get() != null) {
+            return true;
+        }
+
+        HttpServletRequest request = currentRequest();
+        return request != null && System.currentTimeMillis() < primaryUntil(request);
+    }
+
+    /**
+     * action 안에서 시작한 읽기 전용 트랜잭션을 모두 primary 로 보낸다.
+     */
+    public <T> T onPrimary(Supplier<T> action) {
+
+        if (PINNED.get() != null) {
+            return action.get();
+        }
+
+        PINNED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            PINNED.remove();
+        }
+    }
+
+    // 응답 본문을 쓰기 전에 쿠키를 붙여야 하므로 커밋 직전에 적용한다. 롤백되더라도 그 사용자가 잠시 primary 를 더 쓸 뿐이다.
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onReservationChanged(ReservationChangedEvent event) {
+
+        pinCurrentRequest();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onRoomChanged(RoomChangedEvent event) {
+
+        pinCurrentRequest();
+    }
+
+    private void pinCurrentRequest() {
+
+        // 스케줄러처럼 요청 밖에서 일어난 변경은 되돌려 줄 사용자가 없다.
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+
+        HttpServletRequest request = attributes.getRequest();
+        long until = System.currentTimeMillis() + window.toMillis();
+        // 같은 요청의 뒤이은 읽기도 primary 로 보낸다.
+        request.setAttribute(PRIMARY_UNTIL_ATTRIBUTE, until);
+
+        HttpServletResponse response = attributes.getResponse();
+        if (response == null || response.isCommitted() || request.getAttribute(COOKIE_ADDED_ATTRIBUTE) != null) {
+            return;
+        }
+
+        ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, Long.toString(until))
+                .path("/")
+                .maxAge(window.plusMillis(999).toSeconds())
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        request.setAttribute(COOKIE_ADDED_ATTRIBUTE, Boolean.TRUE);
+    }
+
+    private long primaryUntil(HttpServletRequest request) {
+
+        if (request.getAttribute(PRIMARY_UNTIL_ATTRIBUTE) instanceof Long until) {
+            return until;
+        }
+
+        long until = 0;
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE_NAME.equals(cookie.getName())) {
+                    until = parseUntil(cookie.getValue());
+                }
+            }
+        }
+
+        request.setAttribute(PRIMARY_UNTIL_ATTRIBUTE, until);
+        return until;
+    }
+
+    // 클라이언트가 값을 바꿔도 window 보다 오래 primary 에 묶이지 않는다.
+    private long parseUntil(String value) {
+
+        try {
+            long until = Long.parseLong(value);
+            return until - System.currentTimeMillis() <= window.toMillis() ? until : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private HttpServletRequest currentRequest() {
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes ? servletAttributes.getRequest() : null;
+    }
+}
@@ -0,0 +1,34 @@
+package com.alstjrzzz.srr.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 읽기 전용 연결을 replica 에서 가져온다. ReadYourWrites 가 primary 를 요구하면 primary 에서 가져온다.
+ * 연결을 실제로 가져오는 시점에 판단하도록 LazyConnectionDataSourceProxy 의 readOnlyDataSource 로 사용한다.
+ */
+public final class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReadYourWrites readYourWrites;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadYourWrites readYourWrites) {
+
+        this.readYourWrites = readYourWrites;
+
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+
+        return readYourWrites.isPrimaryRequired() ? Target.PRIMARY : Target.REPLICA;
+    }
+}
@@ -0,0 +1,18 @@
+package com.alstjrzzz.srr.domain;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class FreeSlot {
+
+    private Long roomId;
+    private String roomName;
+    private String location;
+    private Integer capacity;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,20 @@
+package com.alstjrzzz.srr.domain;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 관리자 예약 조회 조건. null 인 항목은 조건에서 빠진다.
+ */
+@Getter
+@Builder
+public class ReservationFilter {
+
+    private Long roomId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Integer studentId;
+    private String studentName;
+}
@@ -0,0 +1,24 @@
+package com.alstjrzzz.srr.domain;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 방의 한 구간(시간 또는 하루) 이용 통계
+ */
+@Getter
+@Builder
+public class RoomUsage {
+
+    public enum Granularity {
+        HOUR, DAY
+    }
+
+    private Long roomId;
+    private LocalDateTime start;
+    private int bookedMinutes;
+    private int reservationCount;
+    private int cancellationCount;
+}
@@ -0,0 +1,13 @@
+package com.alstjrzzz.srr.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class WaitingRoomResponseDTO {
+
+    private final String message;
+    private final int position;
+    private final long retryAfterSeconds;
+}
@@ -0,0 +1,34 @@
+package com.alstjrzzz.srr.dto.admin;
+
+import com.alstjrzzz.srr.exception.InvalidQueryRangeException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 관리자 예약 목록의 다음 페이지 위치. (start_time, id) 순서에서 마지막으로 받은 예약을 가리킨다.
+ * 클라이언트에는 내용을 알 필요 없는 문자열로 전달한다.
+ */
+public record AdminReservationCursor(LocalDateTime startTime, Long id) {
+
+    public String encode() {
+
+        String raw = startTime + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AdminReservationCursor decode(String cursor) {
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(',');
+            return new AdminReservationCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidQueryRangeException("잘못된 커서입니다.");
+        }
+    }
+}
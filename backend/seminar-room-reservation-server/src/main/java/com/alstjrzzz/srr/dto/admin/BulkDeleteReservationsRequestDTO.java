@@ -0,0 +1,21 @@
+package com.alstjrzzz.srr.dto.admin;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Getter
+public class BulkDeleteReservationsRequestDTO {
+
+    @NotEmpty
+    private Set<@NotNull Long> roomIds;
+
+    @NotNull
+    private LocalDateTime startTime;
+
+    @NotNull
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,18 @@
+package com.alstjrzzz.srr.dto.admin;
+
+import com.alstjrzzz.srr.log.AuditSummary;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class BulkDeleteReservationsResponseDTO implements AuditSummary {
+
+    private int deletedCount;
+
+    @Override
+    public String toAuditSummary() {
+
+        return "deleted: " + deletedCount;
+    }
+}
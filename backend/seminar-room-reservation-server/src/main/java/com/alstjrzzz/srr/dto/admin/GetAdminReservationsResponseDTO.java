@@ -10,4 +10,7 @@ import java.util.List;
 public class GetAdminReservationsResponseDTO {
 
     private List<AdminReservationResponseDTO> reservations;
+
+    // 마지막 페이지면 null
+    private String nextCursor;
 }
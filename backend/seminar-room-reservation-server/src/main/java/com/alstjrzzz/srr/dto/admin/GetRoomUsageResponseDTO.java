@@ -0,0 +1,18 @@
+package com.alstjrzzz.srr.dto.admin;
+
+import com.alstjrzzz.srr.domain.RoomUsage;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Builder
+public class GetRoomUsageResponseDTO {
+
+    private RoomUsage.Granularity granularity;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<RoomUsageSummaryResponseDTO> roomList;
+}
@@ -0,0 +1,27 @@
+package com.alstjrzzz.srr.dto.admin;
+
+import com.alstjrzzz.srr.domain.RoomUsage;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class RoomUsageResponseDTO {
+
+    private LocalDateTime start;
+    private int bookedMinutes;
+    private int reservationCount;
+    private int cancellationCount;
+
+    public static RoomUsageResponseDTO from(RoomUsage roomUsage) {
+
+        return RoomUsageResponseDTO.builder()
+                .start(roomUsage.getStart())
+                .bookedMinutes(roomUsage.getBookedMinutes())
+                .reservationCount(roomUsage.getReservationCount())
+                .cancellationCount(roomUsage.getCancellationCount())
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.alstjrzzz.srr.dto.admin;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class RoomUsageSummaryResponseDTO {
+
+    private Long roomId;
+    private String roomName;
+    private long bookedMinutes;
+    private int reservationCount;
+    private int cancellationCount;
+
+    // 조회 기간 중 예약된 시간의 비율(0 ~ 1)
+    private double occupancyRate;
+
+    private List<RoomUsageResponseDTO> usageList;
+}
@@ -0,0 +1,16 @@
+package com.alstjrzzz.srr.dto.reservation;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class CreateReservationsRequestDTO {
+
+    @NotEmpty
+    @Size(max = 50)
+    private List<@Valid CreateReservationRequestDTO> reservationList;
+}
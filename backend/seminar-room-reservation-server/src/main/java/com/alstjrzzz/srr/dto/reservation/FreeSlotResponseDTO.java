@@ -0,0 +1,31 @@
+package com.alstjrzzz.srr.dto.reservation;
+
+import com.alstjrzzz.srr.domain.FreeSlot;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class FreeSlotResponseDTO {
+
+    private Long roomId;
+    private String roomName;
+    private String location;
+    private Integer capacity;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    public static FreeSlotResponseDTO from(FreeSlot freeSlot) {
+
+        return FreeSlotResponseDTO.builder()
+                .roomId(freeSlot.getRoomId())
+                .roomName(freeSlot.getRoomName())
+                .location(freeSlot.getLocation())
+                .capacity(freeSlot.getCapacity())
+                .startTime(freeSlot.getStartTime())
+                .endTime(freeSlot.getEndTime())
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.alstjrzzz.srr.dto.reservation;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Builder
+public class GetRoomsReservationsResponseDTO {
+
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<RoomReservationsResponseDTO> roomList;
+}
@@ -1,6 +1,6 @@
 package com.alstjrzzz.srr.dto.reservation;
 
-import com.alstjrzzz.srr.domain.Reservation;
+import com.alstjrzzz.srr.repository.projection.ReservationView;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -21,16 +21,16 @@ public class ReservationResponseDTO {
     private LocalDateTime endTime;
     private LocalDateTime createdAt;
 
-    public static ReservationResponseDTO from(Reservation reservation) {
+    public static ReservationResponseDTO from(ReservationView reservationView) {
 
         return ReservationResponseDTO.builder()
-                .id(reservation.getId())
-                .roomId(reservation.getRoomId())
-                .nickname(reservation.getNickname())
-                .purpose(reservation.getPurpose())
-                .startTime(reservation.getStartTime())
-                .endTime(reservation.getEndTime())
-                .createdAt(reservation.getCreatedAt())
+                .id(reservationView.id())
+                .roomId(reservationView.roomId())
+                .nickname(reservationView.nickname())
+                .purpose(reservationView.purpose())
+                .startTime(reservationView.startTime())
+                .endTime(reservationView.endTime())
+                .createdAt(reservationView.createdAt())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.alstjrzzz.srr.dto.reservation;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class ReservationStreamEventDTO {
+
+    private Long id;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,14 @@
+package com.alstjrzzz.srr.dto.reservation;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class RoomReservationsResponseDTO {
+
+    private Long roomId;
+    private List<ReservationResponseDTO> reservationList;
+}
@@ -0,0 +1,13 @@
+package com.alstjrzzz.srr.dto.reservation;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class SearchFreeSlotsResponseDTO {
+
+    private List<FreeSlotResponseDTO> slotList;
+}
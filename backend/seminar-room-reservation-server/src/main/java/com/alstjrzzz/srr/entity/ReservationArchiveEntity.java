@@ -0,0 +1,76 @@
+package com.alstjrzzz.srr.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * reservation 에서 옮겨 온 지난 예약. ReservationArchiveRepository 의 INSERT ... SELECT 로만 만들어지므로 조회 전용으로 쓴다.
+ */
+@Entity
+@Table(name = "reservation_archive")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationArchiveEntity {
+
+    @Id
+    @Column(name = "reservation_id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private RoomEntity room;
+
+    @Column(name = "nickname", nullable = false)
+    private String nickname;
+
+    @Column(name = "student_name", nullable = false)
+    private String studentName;
+
+    @Column(name = "student_id", nullable = false)
+    private Integer studentId;
+
+    @Column(name = "phone_number", nullable = false)
+    private String phoneNumber;
+
+    @Column(name = "purpose", nullable = false)
+    private String purpose;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    /**
+     * 관리자 조회에서 예약과 같은 형태로 다루기 위한 영속성 컨텍스트 밖의 사본. 저장하면 안 된다.
+     */
+    public ReservationEntity toReservationEntity() {
+
+        return ReservationEntity.builder()
+                .id(id)
+                .room(room)
+                .nickname(nickname)
+                .studentName(studentName)
+                .studentId(studentId)
+                .phoneNumber(phoneNumber)
+                .purpose(purpose)
+                .startTime(startTime)
+                .endTime(endTime)
+                .createdAt(createdAt)
+                .build();
+    }
+}
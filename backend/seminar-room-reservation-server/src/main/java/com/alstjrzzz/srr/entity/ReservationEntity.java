@@ -14,6 +14,7 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
+// 스키마와 인덱스는 db/migration 의 Flyway 스크립트가 관리한다.
 @Table(name = "reservation")
 @Getter
 @Builder
@@ -22,7 +23,9 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class)
 public class ReservationEntity {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // IDENTITY는 INSERT 마다 키를 받아와야 해서 JDBC 배치가 불가능하므로 pooled 시퀀스를 사용한다.
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_seq")
+    @SequenceGenerator(name = "reservation_seq", sequenceName = "reservation_seq", allocationSize = 50)
     @Column(name = "reservation_id")
     private Long id;
 
@@ -0,0 +1,74 @@
+package com.alstjrzzz.srr.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * 예약이 점유한 시간 슬롯. (room_id, slot_start)가 기본키이므로 같은 슬롯을 두 예약이 동시에 가질 수 없다.
+ */
+@Entity
+@Table(name = "reservation_slot")
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationSlotEntity implements Persistable<ReservationSlotEntity.SlotId> {
+
+    @EmbeddedId
+    private SlotId id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "reservation_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private ReservationEntity reservation;
+
+    /**
+     * 슬롯은 INSERT만 하므로 merge 전 SELECT 없이 바로 persist 되도록 항상 새 엔티티로 취급한다.
+     */
+    @Override
+    public boolean isNew() {
+
+        return true;
+    }
+
+    @Embeddable
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SlotId implements Serializable {
+
+        @Column(name = "room_id")
+        private Long roomId;
+
+        @Column(name = "slot_start")
+        private LocalDateTime slotStart;
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SlotId slotId)) {
+                return false;
+            }
+            return Objects.equals(roomId, slotId.roomId) && Objects.equals(slotStart, slotId.slotStart);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return Objects.hash(roomId, slotStart);
+        }
+    }
+}
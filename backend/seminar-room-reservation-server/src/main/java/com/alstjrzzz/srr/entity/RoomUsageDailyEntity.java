@@ -0,0 +1,64 @@
+package com.alstjrzzz.srr.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * 방의 하루 단위 이용 통계. 값은 RoomUsageRepository 의 upsert 로만 바꾸므로 조회 전용으로 쓴다.
+ */
+@Entity
+@Table(name = "room_usage_daily")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomUsageDailyEntity {
+
+    @EmbeddedId
+    private UsageId id;
+
+    @Column(name = "booked_minutes", nullable = false)
+    private Integer bookedMinutes;
+
+    @Column(name = "reservation_count", nullable = false)
+    private Integer reservationCount;
+
+    @Column(name = "cancellation_count", nullable = false)
+    private Integer cancellationCount;
+
+    @Embeddable
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UsageId implements Serializable {
+
+        @Column(name = "room_id")
+        private Long roomId;
+
+        @Column(name = "usage_date")
+        private LocalDate usageDate;
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof UsageId usageId)) {
+                return false;
+            }
+            return Objects.equals(roomId, usageId.roomId) && Objects.equals(usageDate, usageId.usageDate);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return Objects.hash(roomId, usageDate);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.alstjrzzz.srr.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 예약 생성/취소/삭제 이벤트. 트랜잭션 커밋 후 인메모리 인덱스 등에 반영된다.
+ * 인덱스 범위(오늘 이전)를 벗어난 예약이 취소/삭제되면 방 ID와 시간을 알 수 없으므로 null 이다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ReservationChangedEvent {
+
+    public enum Type {
+        CREATED, CANCELED, DELETED
+    }
+
+    private final Type type;
+    private final Long reservationId;
+    private final Long roomId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+
+    public boolean isCreated() {
+
+        return type == Type.CREATED;
+    }
+}
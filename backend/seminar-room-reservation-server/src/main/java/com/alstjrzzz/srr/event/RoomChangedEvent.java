@@ -0,0 +1,19 @@
+package com.alstjrzzz.srr.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 방 생성/수정/삭제 이벤트. 트랜잭션 커밋 후 캐시 등에 반영된다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class RoomChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final Long roomId;
+}
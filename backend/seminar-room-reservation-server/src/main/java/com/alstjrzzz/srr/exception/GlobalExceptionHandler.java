@@ -1,6 +1,9 @@
 package com.alstjrzzz.srr.exception;
 
 import com.alstjrzzz.srr.dto.ExceptionResponseDTO;
+import com.alstjrzzz.srr.dto.WaitingRoomResponseDTO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -22,6 +25,13 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(exceptionResponseDTO);
     }
 
+    @ExceptionHandler(InvalidQueryRangeException.class)
+    public ResponseEntity<ExceptionResponseDTO> handleInvalidQueryRangeException() {
+
+        ExceptionResponseDTO exceptionResponseDTO = new ExceptionResponseDTO("조회 범위가 올바르지 않습니다.");
+        return ResponseEntity.badRequest().body(exceptionResponseDTO);
+    }
+
     @ExceptionHandler(InvalidStudentInfoException.class)
     public ResponseEntity<ExceptionResponseDTO> handleInvalidStudentInfoException() {
 
@@ -49,4 +59,42 @@ public class GlobalExceptionHandler {
         ExceptionResponseDTO exceptionResponseDTO = new ExceptionResponseDTO("존재하지 않는 방 ID 입니다.");
         return ResponseEntity.badRequest().body(exceptionResponseDTO);
     }
+
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<ExceptionResponseDTO> handleIdempotencyConflictException() {
+
+        ExceptionResponseDTO exceptionResponseDTO = new ExceptionResponseDTO("같은 요청을 처리 중입니다.");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(exceptionResponseDTO);
+    }
+
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ExceptionResponseDTO> handleIdempotencyKeyMismatchException() {
+
+        ExceptionResponseDTO exceptionResponseDTO = new ExceptionResponseDTO("같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다.");
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(exceptionResponseDTO);
+    }
+
+    @ExceptionHandler(WaitingRoomFullException.class)
+    public ResponseEntity<WaitingRoomResponseDTO> handleWaitingRoomFullException(WaitingRoomFullException e) {
+
+        WaitingRoomResponseDTO waitingRoomResponseDTO = new WaitingRoomResponseDTO(
+                "예약 요청이 많아 잠시 후 다시 시도해주세요.", e.getPosition(), e.getRetryAfterSeconds());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(waitingRoomResponseDTO);
+    }
+
+    @ExceptionHandler(IndexNotReadyException.class)
+    public ResponseEntity<ExceptionResponseDTO> handleIndexNotReadyException() {
+
+        ExceptionResponseDTO exceptionResponseDTO = new ExceptionResponseDTO("예약 현황을 불러오는 중입니다. 잠시 후 다시 시도해주세요.");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(exceptionResponseDTO);
+    }
+
+    @ExceptionHandler(StreamUnavailableException.class)
+    public ResponseEntity<ExceptionResponseDTO> handleStreamUnavailableException() {
+
+        ExceptionResponseDTO exceptionResponseDTO = new ExceptionResponseDTO("실시간 연결이 많아 잠시 후 다시 시도해주세요.");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(exceptionResponseDTO);
+    }
 }
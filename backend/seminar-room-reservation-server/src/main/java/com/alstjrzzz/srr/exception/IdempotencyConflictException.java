@@ -0,0 +1,6 @@
+package com.alstjrzzz.srr.exception;
+
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String message) { super(message); }
+}
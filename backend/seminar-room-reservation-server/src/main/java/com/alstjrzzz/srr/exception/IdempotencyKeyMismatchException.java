@@ -0,0 +1,6 @@
+package com.alstjrzzz.srr.exception;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+
+    public IdempotencyKeyMismatchException(String message) { super(message); }
+}
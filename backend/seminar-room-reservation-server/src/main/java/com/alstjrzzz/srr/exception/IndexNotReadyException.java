@@ -0,0 +1,6 @@
+package com.alstjrzzz.srr.exception;
+
+public class IndexNotReadyException extends RuntimeException {
+
+    public IndexNotReadyException(String message) { super(message); }
+}
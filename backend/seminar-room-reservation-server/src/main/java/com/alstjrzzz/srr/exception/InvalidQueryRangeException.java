@@ -0,0 +1,6 @@
+package com.alstjrzzz.srr.exception;
+
+public class InvalidQueryRangeException extends RuntimeException {
+
+    public InvalidQueryRangeException(String message) { super(message); }
+}
@@ -0,0 +1,6 @@
+package com.alstjrzzz.srr.exception;
+
+public class StreamUnavailableException extends RuntimeException {
+
+    public StreamUnavailableException(String message) { super(message); }
+}
@@ -0,0 +1,16 @@
+package com.alstjrzzz.srr.exception;
+
+import lombok.Getter;
+
+@Getter
+public class WaitingRoomFullException extends RuntimeException {
+
+    private final int position;
+    private final long retryAfterSeconds;
+
+    public WaitingRoomFullException(String message, int position, long retryAfterSeconds) {
+        super(message);
+        this.position = position;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,192 @@
+package com.alstjrzzz.srr.index;
+
+import com.alstjrzzz.srr.datasource.ReadYourWrites;
+import com.alstjrzzz.srr.entity.ReservationEntity;
+import com.alstjrzzz.srr.event.ReservationChangedEvent;
+import com.alstjrzzz.srr.repository.ReservationRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+
+/**
+ * 방별 예약 구간 인덱스.
+ * 예약 가능 기간(현재 - 1시간 ~ 7일 후)과 오늘 예약 현황에 걸친 예약만 메모리에 유지하고, 충돌 여부를 O(log n)으로 판단한다.
+ * 한 방의 예약은 서로 겹치지 않으므로 시작 시간 순으로 정렬하면 종료 시간도 같은 순서가 된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReservationIntervalIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationIntervalIndex.class);
+
+    // ReservationService.reservation 에서 허용하는 가장 이른 시작 시간과 같다.
+    private static final long RETENTION_HOURS = 1;
+
+    private static final Comparator<Interval> ORDER = Comparator
+            .comparing(Interval::startTime)
+            .thenComparingLong(Interval::reservationId);
+
+    private final ReservationRepository reservationRepository;
+    private final ReadYourWrites readYourWrites;
+
+    private final Map<Long, NavigableSet<Interval>> rooms = new ConcurrentHashMap<>();
+    private final Map<Long, Interval> intervals = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded = false;
+
+    public record Interval(long reservationId, long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+    }
+
+    @PostConstruct
+    public void load() {
+
+        try {
+            LocalDateTime from = retentionThreshold();
+            // 충돌 검사의 기준이므로 replica 지연으로 빠진 예약이 없도록 primary 에서 읽는다.
+            List<ReservationEntity> reservationEntities = readYourWrites.onPrimary(() ->
+                    reservationRepository.findReservationsEndingAfter(from));
+            for (ReservationEntity reservationEntity : reservationEntities) {
+                add(reservationEntity.getId(),
+                        reservationEntity.getRoom().getId(),
+                        reservationEntity.getStartTime(),
+                        reservationEntity.getEndTime());
+            }
+            loaded = true;
+            log.info("Reservation interval index loaded: {} reservations", intervals.size());
+        } catch (RuntimeException e) {
+            // 인덱스가 없으면 DB 조회로 충돌 여부를 판단한다.
+            log.warn("Failed to load reservation interval index. Falling back to database queries.", e);
+        }
+    }
+
+    public boolean isLoaded() {
+
+        return loaded;
+    }
+
+    /**
+     * 인덱스에 있는 예약이면 구간을, 없으면 null 을 반환한다.
+     */
+    public Interval get(long reservationId) {
+
+        return intervals.get(reservationId);
+    }
+
+    public boolean hasConflict(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+
+        NavigableSet<Interval> room = rooms.get(roomId);
+        if (room == null) {
+            return false;
+        }
+
+        // endTime 이전에 시작하는 예약 중 가장 늦게 시작하는 예약만 확인하면 된다.
+        Interval candidate = room.lower(probe(roomId, endTime));
+        return candidate != null && candidate.endTime().isAfter(startTime);
+    }
+
+    public void forEachOverlapping(Long roomId, LocalDateTime startTime, LocalDateTime endTime, Consumer<Interval> action) {
+
+        NavigableSet<Interval> room = rooms.get(roomId);
+        if (room == null) {
+            return;
+        }
+
+        Iterator<Interval> iterator = room.headSet(probe(roomId, endTime), false).descendingIterator();
+        while (iterator.hasNext()) {
+            Interval interval = iterator.next();
+            if (!interval.endTime().isAfter(startTime)) {
+                break;
+            }
+            action.accept(interval);
+        }
+    }
+
+    public void forEach(Consumer<Interval> action) {
+
+        intervals.values().forEach(action);
+    }
+
+    @TransactionalEventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+
+        if (event.isCreated()) {
+            add(event.getReservationId(), event.getRoomId(), event.getStartTime(), event.getEndTime());
+        } else {
+            remove(event.getReservationId());
+        }
+    }
+
+    public void add(long reservationId, long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+
+        Interval interval = new Interval(reservationId, roomId, startTime, endTime);
+        Interval previous = intervals.put(reservationId, interval);
+        if (previous != null) {
+            removeFromRoom(previous);
+        }
+        rooms.computeIfAbsent(roomId, id -> new ConcurrentSkipListSet<>(ORDER)).add(interval);
+    }
+
+    public void remove(long reservationId) {
+
+        Interval interval = intervals.remove(reservationId);
+        if (interval != null) {
+            removeFromRoom(interval);
+        }
+    }
+
+    /**
+     * 이미 끝난 예약을 정리한다.
+     */
+    @Scheduled(cron = "0 0 * * * *")
+    public void evictExpired() {
+
+        LocalDateTime threshold = retentionThreshold();
+        intervals.values().removeIf(interval -> {
+            if (interval.endTime().isAfter(threshold)) {
+                return false;
+            }
+            removeFromRoom(interval);
+            return true;
+        });
+    }
+
+    /**
+     * 예약 가능 기간의 시작과 오늘 0시 중 이른 시간. 이후에 끝나는 예약만 유지한다.
+     */
+    private static LocalDateTime retentionThreshold() {
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime startOfToday = now.toLocalDate().atStartOfDay();
+        LocalDateTime minAllowedStartTime = now.minusHours(RETENTION_HOURS);
+
+        return minAllowedStartTime.isBefore(startOfToday) ? minAllowedStartTime : startOfToday;
+    }
+
+    private void removeFromRoom(Interval interval) {
+
+        NavigableSet<Interval> room = rooms.get(interval.roomId());
+        if (room != null) {
+            room.remove(interval);
+        }
+    }
+
+    private static Interval probe(long roomId, LocalDateTime startTime) {
+
+        // 같은 시작 시간의 실제 예약보다 항상 앞에 정렬된다.
+        return new Interval(Long.MIN_VALUE, roomId, startTime, startTime);
+    }
+}
@@ -0,0 +1,377 @@
+package com.alstjrzzz.srr.index;
+
+import com.alstjrzzz.srr.event.ReservationChangedEvent;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 방별 슬롯 점유 비트맵.
+ * 오늘 0시부터 8일(예약 가능 기간 7일 + 당일)을 slot-minutes 단위 비트로 나누어 long[] 에 저장한다.
+ * 예약과 조금이라도 겹치는 슬롯은 1 이므로, 비트가 모두 0 이면 확실히 예약 가능하고
+ * 1 이 있으면 ReservationIntervalIndex 로 정확히 확인해야 한다.
+ * 조회는 객체를 생성하지 않는다.
+ */
+@Component
+public class ReservationOccupancyIndex {
+
+    private static final int WINDOW_DAYS = 8;
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private final ReservationIntervalIndex reservationIntervalIndex;
+    private final int slotSeconds;
+    private final int slotsPerDay;
+    private final int windowSlots;
+    private final int wordCount;
+
+    private final Map<Long, RoomBitmap> rooms = new ConcurrentHashMap<>();
+
+    // 0번 비트가 가리키는 절대 슬롯 번호(epochDay * slotsPerDay)
+    private volatile long baseSlot;
+    private volatile boolean loaded = false;
+
+    public ReservationOccupancyIndex(ReservationIntervalIndex reservationIntervalIndex,
+                                     @Value("${reservation.slot-minutes}") int slotMinutes) {
+
+        if (slotMinutes <= 0 || SECONDS_PER_DAY % (slotMinutes * 60) != 0) {
+            throw new IllegalArgumentException("slot-minutes must divide a day: " + slotMinutes);
+        }
+
+        this.reservationIntervalIndex = reservationIntervalIndex;
+        this.slotSeconds = slotMinutes * 60;
+        this.slotsPerDay = SECONDS_PER_DAY / slotSeconds;
+        this.windowSlots = slotsPerDay * WINDOW_DAYS;
+        this.wordCount = (windowSlots + 63) >>> 6;
+        this.baseSlot = LocalDate.now().toEpochDay() * slotsPerDay;
+    }
+
+    @PostConstruct
+    public void load() {
+
+        if (!reservationIntervalIndex.isLoaded()) {
+            return;
+        }
+
+        reservationIntervalIndex.forEach(interval ->
+                occupy(interval.roomId(), interval.startTime(), interval.endTime()));
+        loaded = true;
+    }
+
+    public boolean isLoaded() {
+
+        return loaded;
+    }
+
+    /**
+     * 해당 시간이 속한 슬롯의 절대 번호
+     */
+    public long toSlot(LocalDateTime time) {
+
+        return time.toLocalDate().toEpochDay() * slotsPerDay
+                + time.toLocalTime().toSecondOfDay() / slotSeconds;
+    }
+
+    /**
+     * 해당 시간을 포함하기 위해 필요한 마지막 슬롯의 다음 번호
+     */
+    public long toSlotCeil(LocalDateTime time) {
+
+        long slot = toSlot(time);
+        if (time.toLocalTime().toSecondOfDay() % slotSeconds != 0 || time.getNano() != 0) {
+            slot++;
+        }
+        return slot;
+    }
+
+    public LocalDateTime toTime(long slot) {
+
+        return LocalDate.ofEpochDay(Math.floorDiv(slot, slotsPerDay))
+                .atStartOfDay()
+                .plusSeconds(Math.floorMod(slot, slotsPerDay) * (long) slotSeconds);
+    }
+
+    /**
+     * 구간이 걸친 모든 슬롯이 비어 있으면 true.
+     * 비트맵 범위를 벗어나거나 아직 로딩되지 않았다면 판단할 수 없으므로 false 를 반환한다.
+     */
+    public boolean isFree(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+
+        if (!loaded) {
+            return false;
+        }
+
+        long from = toSlot(startTime);
+        long to = toSlotCeil(endTime);
+
+        RoomBitmap bitmap = rooms.get(roomId);
+        if (bitmap == null) {
+            long base = baseSlot;
+            return from >= base && to <= base + windowSlots;
+        }
+
+        long stamp = bitmap.lock.tryOptimisticRead();
+        boolean free = bitmap.isFree(from, to);
+        if (!bitmap.lock.validate(stamp)) {
+            stamp = bitmap.lock.readLock();
+            try {
+                free = bitmap.isFree(from, to);
+            } finally {
+                bitmap.lock.unlockRead(stamp);
+            }
+        }
+        return free;
+    }
+
+    /**
+     * [fromSlot, toSlot) 안에서 length 개 슬롯이 연속으로 비어 있는 첫 위치의 절대 슬롯 번호. 없으면 -1.
+     */
+    public long findFirstFreeRun(Long roomId, long fromSlot, long toSlot, int length) {
+
+        if (!loaded || length <= 0) {
+            return -1;
+        }
+
+        RoomBitmap bitmap = rooms.get(roomId);
+        if (bitmap == null) {
+            long base = baseSlot;
+            long from = Math.max(fromSlot, base);
+            return from + length <= Math.min(toSlot, base + windowSlots) ? from : -1;
+        }
+
+        long stamp = bitmap.lock.tryOptimisticRead();
+        long found = bitmap.findFirstFreeRun(fromSlot, toSlot, length);
+        if (!bitmap.lock.validate(stamp)) {
+            stamp = bitmap.lock.readLock();
+            try {
+                found = bitmap.findFirstFreeRun(fromSlot, toSlot, length);
+            } finally {
+                bitmap.lock.unlockRead(stamp);
+            }
+        }
+        return found;
+    }
+
+    public void occupy(long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+
+        RoomBitmap bitmap = rooms.computeIfAbsent(roomId, id -> new RoomBitmap(baseSlot));
+
+        long stamp = bitmap.lock.writeLock();
+        try {
+            bitmap.set(toSlot(startTime), toSlotCeil(endTime), true);
+        } finally {
+            bitmap.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 구간의 슬롯을 비운 뒤, 경계 슬롯을 함께 쓰던 다른 예약을 다시 채운다.
+     */
+    public void release(long roomId, long reservationId, LocalDateTime startTime, LocalDateTime endTime) {
+
+        RoomBitmap bitmap = rooms.get(roomId);
+        if (bitmap == null) {
+            return;
+        }
+
+        long from = toSlot(startTime);
+        long to = toSlotCeil(endTime);
+
+        long stamp = bitmap.lock.writeLock();
+        try {
+            bitmap.set(from, to, false);
+            reservationIntervalIndex.forEachOverlapping(roomId, toTime(from), toTime(to), interval -> {
+                if (interval.reservationId() != reservationId) {
+                    bitmap.set(toSlot(interval.startTime()), toSlotCeil(interval.endTime()), true);
+                }
+            });
+        } finally {
+            bitmap.lock.unlockWrite(stamp);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+
+        if (event.getRoomId() == null) {
+            return;
+        }
+
+        if (event.isCreated()) {
+            occupy(event.getRoomId(), event.getStartTime(), event.getEndTime());
+        } else {
+            release(event.getRoomId(), event.getReservationId(), event.getStartTime(), event.getEndTime());
+        }
+    }
+
+    /**
+     * 자정마다 하루만큼 비트맵을 앞으로 민다.
+     */
+    @Scheduled(cron = "0 0 0 * * *")
+    public void roll() {
+
+        rollTo(LocalDate.now());
+    }
+
+    void rollTo(LocalDate today) {
+
+        long newBase = today.toEpochDay() * slotsPerDay;
+        if (newBase <= baseSlot) {
+            return;
+        }
+        baseSlot = newBase;
+
+        LocalDateTime lastDayStart = today.plusDays(WINDOW_DAYS - 1).atStartOfDay();
+        LocalDateTime windowEnd = lastDayStart.plusDays(1);
+
+        rooms.forEach((roomId, bitmap) -> {
+            long stamp = bitmap.lock.writeLock();
+            try {
+                bitmap.shiftTo(newBase);
+                // 자정 직후 롤링 전에 들어온 마지막 날 예약을 다시 채운다.
+                reservationIntervalIndex.forEachOverlapping(roomId, lastDayStart, windowEnd, interval ->
+                        bitmap.set(toSlot(interval.startTime()), toSlotCeil(interval.endTime()), true));
+            } finally {
+                bitmap.lock.unlockWrite(stamp);
+            }
+        });
+    }
+
+    private final class RoomBitmap {
+
+        private final long[] words = new long[wordCount];
+        private final StampedLock lock = new StampedLock();
+        private long base;
+
+        private RoomBitmap(long base) {
+            this.base = base;
+        }
+
+        private boolean isFree(long fromSlot, long toSlot) {
+
+            long from = fromSlot - base;
+            long to = toSlot - base;
+            if (from < 0 || to > windowSlots) {
+                return false;
+            }
+            if (from >= to) {
+                return true;
+            }
+            return nextSetBit((int) from, (int) to) < 0;
+        }
+
+        private long findFirstFreeRun(long fromSlot, long toSlot, int length) {
+
+            int from = (int) Math.max(fromSlot - base, 0);
+            int to = (int) Math.min(toSlot - base, windowSlots);
+
+            int position = from;
+            while (position + length <= to) {
+                int occupied = nextSetBit(position, position + length);
+                if (occupied < 0) {
+                    return base + position;
+                }
+                position = nextClearBit(occupied + 1, to);
+                if (position < 0) {
+                    break;
+                }
+            }
+            return -1;
+        }
+
+        private void set(long fromSlot, long toSlot, boolean value) {
+
+            int from = (int) Math.max(fromSlot - base, 0);
+            int to = (int) Math.min(toSlot - base, windowSlots);
+            if (from >= to) {
+                return;
+            }
+
+            int firstWord = from >>> 6;
+            int lastWord = (to - 1) >>> 6;
+            long firstMask = -1L << from;
+            long lastMask = -1L >>> -to;
+
+            for (int i = firstWord; i <= lastWord; i++) {
+                long mask = -1L;
+                if (i == firstWord) {
+                    mask &= firstMask;
+                }
+                if (i == lastWord) {
+                    mask &= lastMask;
+                }
+                words[i] = value ? words[i] | mask : words[i] & ~mask;
+            }
+        }
+
+        private void shiftTo(long newBase) {
+
+            long shift = newBase - base;
+            base = newBase;
+
+            if (shift >= windowSlots) {
+                Arrays.fill(words, 0L);
+                return;
+            }
+
+            int wordShift = (int) (shift >>> 6);
+            int bitShift = (int) (shift & 63);
+            for (int i = 0; i < words.length; i++) {
+                int source = i + wordShift;
+                long low = source < words.length ? words[source] >>> bitShift : 0L;
+                long high = bitShift != 0 && source + 1 < words.length ? words[source + 1] << (64 - bitShift) : 0L;
+                words[i] = low | high;
+            }
+        }
+
+        /**
+         * [from, to) 에서 처음으로 1 인 비트의 위치. 없으면 -1.
+         */
+        private int nextSetBit(int from, int to) {
+
+            int index = from >>> 6;
+            long word = words[index] & (-1L << from);
+            while (true) {
+                if (word != 0) {
+                    int bit = (index << 6) + Long.numberOfTrailingZeros(word);
+                    return bit < to ? bit : -1;
+                }
+                if (++index > (to - 1) >>> 6) {
+                    return -1;
+                }
+                word = words[index];
+            }
+        }
+
+        /**
+         * [from, to) 에서 처음으로 0 인 비트의 위치. 없으면 -1.
+         */
+        private int nextClearBit(int from, int to) {
+
+            if (from >= to) {
+                return -1;
+            }
+
+            int index = from >>> 6;
+            long word = ~words[index] & (-1L << from);
+            while (true) {
+                if (word != 0) {
+                    int bit = (index << 6) + Long.numberOfTrailingZeros(word);
+                    return bit < to ? bit : -1;
+                }
+                if (++index > (to - 1) >>> 6) {
+                    return -1;
+                }
+                word = ~words[index];
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.alstjrzzz.srr.log;
+
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * 요청 스레드에서 잡아 둔 감사 로그 원본 값. 문자열로 만드는 일은 AuditLogWriter 가 맡는다.
+ *
+ * @param timestamp epoch millis
+ * @param status 응답이 ResponseEntity 가 아니면 null (VOID)
+ * @param summary AuditSummary 를 구현한 응답 본문의 요약
+ * @param args 컨트롤러 인자. 직렬화하지 않고 그대로 기록할 값은 {@link Raw} 로 감싼다.
+ */
+record AuditEvent(long timestamp,
+                  String ip,
+                  String method,
+                  String uri,
+                  HttpStatusCode status,
+                  String summary,
+                  Object[] args) {
+
+    /**
+     * 요청이 끝나면 읽을 수 없는 값(업로드 파일 정보 등)을 미리 문자열로 만들어 둔 인자.
+     */
+    record Raw(String value) {
+    }
+
+    /**
+     * 로그에 남기지 않는 인자(HttpServletResponse 등).
+     */
+    static final Object SKIP = new Object();
+}
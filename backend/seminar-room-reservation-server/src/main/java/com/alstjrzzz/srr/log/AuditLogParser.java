@@ -0,0 +1,283 @@
+package com.alstjrzzz.srr.log;
+
+/**
+ * 로그 파일의 한 줄에서 감사 로그 항목을 한 번 훑어서 읽는다. 정규식이나 줄마다 새 Map 을 쓰지 않는다.
+ * AuditLogWriter 가 쓰는 JSON 형식("AUDIT {...}")과, 이전에 쓰던 "[KEY][value], ..." 텍스트 형식을 모두 읽는다.
+ * 문자열 해제용 버퍼를 재사용하므로 스레드 간에 공유하지 않는다.
+ */
+public class AuditLogParser {
+
+    private static final String JSON_START = AuditRecord.MARKER + "{";
+
+    private static final String[] KEYS = {
+            AuditRecord.TIMESTAMP, AuditRecord.IP, AuditRecord.METHOD,
+            AuditRecord.URI, AuditRecord.RESPONSE, AuditRecord.PARAMETER
+    };
+
+    private static final String[] LEGACY_KEYS = {
+            "[TIMESTAMP][", "[IP][", "[METHOD][", "[URI][", "[RESPONSE][", "[PARAMETER]["
+    };
+    private static final String LEGACY_SEPARATOR = "], [";
+
+    private final StringBuilder text = new StringBuilder(128);
+
+    /**
+     * line 이 감사 로그면 record 를 채우고 true 를 돌려준다.
+     */
+    public boolean parse(String line, AuditRecord record) {
+
+        record.clear();
+
+        int json = line.indexOf(JSON_START);
+        if (json >= 0) {
+            return parseJson(line, json + AuditRecord.MARKER.length(), record);
+        }
+
+        int legacy = line.indexOf(LEGACY_KEYS[0]);
+        if (legacy >= 0) {
+            parseLegacy(line, legacy, record);
+            return true;
+        }
+
+        return false;
+    }
+
+    private boolean parseJson(String line, int position, AuditRecord record) {
+
+        int length = line.length();
+        position++;
+
+        while (true) {
+
+            position = skipWhitespace(line, position);
+            if (position >= length) {
+                return false;
+            }
+
+            char c = line.charAt(position);
+            if (c == '}') {
+                return true;
+            }
+            if (c == ',') {
+                position++;
+                continue;
+            }
+            if (c != '"') {
+                return false;
+            }
+
+            position = readString(line, position);
+            if (position < 0) {
+                return false;
+            }
+            int field = field(text);
+
+            position = skipWhitespace(line, position);
+            if (position >= length || line.charAt(position) != ':') {
+                return false;
+            }
+            position = skipWhitespace(line, position + 1);
+            if (position >= length) {
+                return false;
+            }
+
+            if (line.charAt(position) == '"') {
+                position = readString(line, position);
+                if (position < 0) {
+                    return false;
+                }
+                if (field >= 0) {
+                    set(record, field, text.toString());
+                }
+            } else {
+                int start = position;
+                position = skipValue(line, position);
+                if (position < 0) {
+                    return false;
+                }
+                if (field >= 0) {
+                    set(record, field, line.substring(start, position));
+                }
+            }
+        }
+    }
+
+    /**
+     * 따옴표로 시작하는 JSON 문자열을 풀어 text 에 담고, 닫는 따옴표 다음 위치를 돌려준다.
+     */
+    private int readString(String line, int position) {
+
+        text.setLength(0);
+
+        int length = line.length();
+        int run = position + 1;
+
+        for (int i = run; i < length; i++) {
+
+            char c = line.charAt(i);
+
+            if (c == '"') {
+                text.append(line, run, i);
+                return i + 1;
+            }
+            if (c != '\\') {
+                continue;
+            }
+
+            text.append(line, run, i);
+            if (++i >= length) {
+                return -1;
+            }
+
+            switch (line.charAt(i)) {
+                case 'b' -> text.append('\b');
+                case 'f' -> text.append('\f');
+                case 'n' -> text.append('\n');
+                case 'r' -> text.append('\r');
+                case 't' -> text.append('\t');
+                case 'u' -> {
+                    if (i + 4 >= length) {
+                        return -1;
+                    }
+                    int code = 0;
+                    for (int j = i + 1; j <= i + 4; j++) {
+                        int digit = Character.digit(line.charAt(j), 16);
+                        if (digit < 0) {
+                            return -1;
+                        }
+                        code = code * 16 + digit;
+                    }
+                    text.append((char) code);
+                    i += 4;
+                }
+                default -> text.append(line.charAt(i));
+            }
+            run = i + 1;
+        }
+
+        return -1;
+    }
+
+    /**
+     * 문자열이 아닌 값(배열, 객체, 숫자 등)의 끝 위치를 찾는다. 안쪽 문자열의 괄호와 쉼표는 건너뛴다.
+     */
+    private int skipValue(String line, int position) {
+
+        int length = line.length();
+        int depth = 0;
+        boolean inString = false;
+
+        for (int i = position; i < length; i++) {
+
+            char c = line.charAt(i);
+
+            if (inString) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '"' -> inString = true;
+                case '[', '{' -> depth++;
+                case ']', '}' -> {
+                    if (depth == 0) {
+                        return trimEnd(line, position, i);
+                    }
+                    if (--depth == 0) {
+                        return i + 1;
+                    }
+                }
+                case ',' -> {
+                    if (depth == 0) {
+                        return trimEnd(line, position, i);
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * 예전 텍스트 형식. 값 안의 ']' 에 끊기지 않도록 다음 항목의 "], [KEY][" 까지를 값으로 보고,
+     * 마지막 PARAMETER 는 줄의 마지막 ']' 까지를 값으로 본다.
+     */
+    private void parseLegacy(String line, int position, AuditRecord record) {
+
+        int last = LEGACY_KEYS.length - 1;
+
+        for (int field = 0; field <= last; field++) {
+
+            int key = line.indexOf(LEGACY_KEYS[field], position);
+            if (key < 0) {
+                continue;
+            }
+
+            int start = key + LEGACY_KEYS[field].length();
+            int end = field == last ? line.lastIndexOf(']') : legacyValueEnd(line, start, field);
+            if (end < start) {
+                return;
+            }
+
+            set(record, field, line.substring(start, end));
+            position = end;
+        }
+    }
+
+    private int legacyValueEnd(String line, int start, int field) {
+
+        for (int next = field + 1; next < LEGACY_KEYS.length; next++) {
+            int end = line.indexOf(LEGACY_KEYS[next], start);
+            if (end >= 0 && line.startsWith(LEGACY_SEPARATOR, end - 3)) {
+                return end - 3;
+            }
+        }
+
+        return line.indexOf(LEGACY_SEPARATOR, start);
+    }
+
+    private static int field(CharSequence key) {
+
+        for (int i = 0; i < KEYS.length; i++) {
+            if (KEYS[i].contentEquals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void set(AuditRecord record, int field, String value) {
+
+        switch (field) {
+            case 0 -> record.setTimestamp(value);
+            case 1 -> record.setIp(value);
+            case 2 -> record.setMethod(value);
+            case 3 -> record.setUri(value);
+            case 4 -> record.setResponse(value);
+            case 5 -> record.setParameter(value);
+            default -> throw new IllegalArgumentException("Unknown field: " + field);
+        }
+    }
+
+    private static int skipWhitespace(String line, int position) {
+
+        while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private static int trimEnd(String line, int start, int end) {
+
+        while (end > start && Character.isWhitespace(line.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+}
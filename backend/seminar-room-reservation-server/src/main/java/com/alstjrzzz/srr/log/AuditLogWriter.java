@@ -0,0 +1,279 @@
+package com.alstjrzzz.srr.log;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * LogAspect 가 넣은 감사 이벤트를 백그라운드 스레드에서 batch-size 개씩 꺼내 JSON 한 줄로 직렬화하고 기록한다.
+ * 요청 스레드는 링 버퍼에 넣기만 하고, 버퍼가 밀렸을 때는 overflow 정책에 따라 버리거나 잠시 기다린다.
+ * 버린 이벤트 수는 audit.log.dropped 지표(reason=full|sampled)로 남긴다.
+ */
+@Component
+public class AuditLogWriter implements SmartLifecycle {
+
+    // 기존 로그 파일과 설정을 그대로 쓰도록 LogAspect 로거로 기록한다.
+    private static final Logger log = LoggerFactory.getLogger(LogAspect.class);
+
+    private final AuditRingBuffer<AuditEvent> buffer;
+    private final ObjectWriter objectWriter;
+    private final JsonFactory jsonFactory;
+    private final Consumer<String> sink;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final int sampleRate;
+    private final long blockTimeoutNanos;
+    private final long idleWaitNanos;
+
+    private final AtomicLong offered = new AtomicLong();
+    private final Counter droppedFull;
+    private final Counter droppedSampled;
+
+    // writer 스레드에서만 쓴다.
+    private final StringWriter line = new StringWriter(512);
+
+    private volatile Thread thread;
+    private volatile boolean running;
+
+    @Autowired
+    public AuditLogWriter(ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${audit.buffer-size}") int bufferSize,
+                          @Value("${audit.batch-size}") int batchSize,
+                          @Value("${audit.overflow}") AuditOverflowPolicy overflowPolicy,
+                          @Value("${audit.sample-rate}") int sampleRate,
+                          @Value("${audit.block-timeout}") Duration blockTimeout,
+                          @Value("${audit.idle-wait}") Duration idleWait) {
+
+        this(objectMapper, meterRegistry, bufferSize, batchSize, overflowPolicy, sampleRate, blockTimeout, idleWait, log::info);
+    }
+
+    AuditLogWriter(ObjectMapper objectMapper,
+                   MeterRegistry meterRegistry,
+                   int bufferSize,
+                   int batchSize,
+                   AuditOverflowPolicy overflowPolicy,
+                   int sampleRate,
+                   Duration blockTimeout,
+                   Duration idleWait,
+                   Consumer<String> sink) {
+
+        this.buffer = new AuditRingBuffer<>(bufferSize);
+        this.objectWriter = objectMapper.writer();
+        // 레코드를 다 쓴 뒤 generator 를 닫아도 line 버퍼는 닫히지 않게 한다.
+        this.jsonFactory = objectMapper.getFactory().copy().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.sink = sink;
+        this.overflowPolicy = overflowPolicy;
+        this.batchSize = batchSize;
+        this.sampleRate = Math.max(1, sampleRate);
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+        this.idleWaitNanos = idleWait.toNanos();
+
+        Gauge.builder("audit.log.buffer.depth", buffer, AuditRingBuffer::size)
+                .description("기록을 기다리는 감사 로그 수")
+                .register(meterRegistry);
+        this.droppedFull = Counter.builder("audit.log.dropped")
+                .description("버퍼가 가득 차 버린 감사 로그 수")
+                .tag("reason", "full")
+                .register(meterRegistry);
+        this.droppedSampled = Counter.builder("audit.log.dropped")
+                .description("샘플링으로 건너뛴 감사 로그 수")
+                .tag("reason", "sampled")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 요청 스레드에서 호출한다. 기록 대기열에 넣었으면 true.
+     */
+    boolean publish(AuditEvent event) {
+
+        if (overflowPolicy == AuditOverflowPolicy.SAMPLE
+                && buffer.size() >= buffer.capacity() / 2
+                && offered.getAndIncrement() % sampleRate != 0) {
+            droppedSampled.increment();
+            return false;
+        }
+
+        if (buffer.offer(event)) {
+            return true;
+        }
+
+        if (overflowPolicy == AuditOverflowPolicy.BLOCK && running) {
+            long deadline = System.nanoTime() + blockTimeoutNanos;
+            while (System.nanoTime() - deadline < 0) {
+                LockSupport.unpark(thread);
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+                if (buffer.offer(event)) {
+                    return true;
+                }
+            }
+        }
+
+        droppedFull.increment();
+        return false;
+    }
+
+    @Override
+    public void start() {
+
+        running = true;
+        thread = Thread.ofPlatform()
+                .name("audit-log-writer")
+                .daemon(true)
+                .start(this::run);
+    }
+
+    @Override
+    public void stop() {
+
+        running = false;
+        Thread writer = thread;
+        if (writer == null) {
+            return;
+        }
+
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+
+        return running;
+    }
+
+    /**
+     * 웹 서버(graceful shutdown 포함)가 멈춘 뒤에 멈춰서 마지막 요청의 로그까지 남긴다.
+     */
+    @Override
+    public int getPhase() {
+
+        return 0;
+    }
+
+    private void run() {
+
+        while (running) {
+            if (buffer.drainTo(this::write, batchSize) == 0) {
+                LockSupport.parkNanos(idleWaitNanos);
+            }
+        }
+
+        // 종료 전에 남은 이벤트를 모두 기록한다.
+        int drained;
+        do {
+            drained = buffer.drainTo(this::write, batchSize);
+        } while (drained > 0);
+    }
+
+    private void write(AuditEvent event) {
+
+        try {
+            sink.accept(format(event));
+        } catch (RuntimeException e) {
+            log.warn("Failed to write audit log", e);
+        }
+    }
+
+    /**
+     * 한 줄짜리 JSON 레코드로 만든다. 앞의 AuditRecord.MARKER 로 다른 로그와 구분한다.
+     */
+    String format(AuditEvent event) {
+
+        line.getBuffer().setLength(0);
+        line.append(AuditRecord.MARKER);
+
+        try (JsonGenerator generator = jsonFactory.createGenerator(line)) {
+
+            generator.writeStartObject();
+            generator.writeStringField(AuditRecord.TIMESTAMP,
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(event.timestamp()), ZoneId.systemDefault()).toString());
+            generator.writeStringField(AuditRecord.IP, event.ip());
+            generator.writeStringField(AuditRecord.METHOD, event.method());
+            generator.writeStringField(AuditRecord.URI, event.uri());
+            generator.writeStringField(AuditRecord.RESPONSE, response(event));
+
+            generator.writeArrayFieldStart(AuditRecord.PARAMETER);
+            writeParameters(generator, event.args());
+            generator.writeEndArray();
+
+            generator.writeEndObject();
+        } catch (IOException e) {
+            // StringWriter 에 쓰므로 직렬화 외에는 실패하지 않는다.
+            throw new UncheckedIOException(e);
+        }
+
+        return line.toString();
+    }
+
+    private String response(AuditEvent event) {
+
+        if (event.status() == null) {
+            return "VOID";
+        }
+        if (event.summary() == null) {
+            return event.status().toString();
+        }
+        return event.status() + " (" + event.summary() + ")";
+    }
+
+    private void writeParameters(JsonGenerator generator, Object[] args) throws IOException {
+
+        for (Object arg : args) {
+
+            if (arg == AuditEvent.SKIP) {
+                continue;
+            }
+
+            if (arg instanceof AuditEvent.Raw raw) {
+                generator.writeString(raw.value());
+                continue;
+            }
+
+            if (arg instanceof List<?> list) {
+                generator.writeString("list(size: " + list.size() + ")");
+                continue;
+            }
+
+            // 인자 직렬화가 중간에 실패해도 레코드가 깨지지 않도록 먼저 문자열로 만든다.
+            String json;
+            try {
+                json = objectWriter.writeValueAsString(arg);
+            } catch (JsonProcessingException e) {
+                log.warn("Failed to serialize object to JSON: {}", arg, e);
+                generator.writeString(String.valueOf(arg));
+                continue;
+            }
+            generator.writeRawValue(json);
+        }
+    }
+}
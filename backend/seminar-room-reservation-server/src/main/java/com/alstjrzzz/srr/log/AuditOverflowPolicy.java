@@ -0,0 +1,16 @@
+package com.alstjrzzz.srr.log;
+
+/**
+ * 감사 로그 버퍼가 밀렸을 때의 처리 방식.
+ */
+public enum AuditOverflowPolicy {
+
+    /** 가득 차면 새 이벤트를 버린다. */
+    DROP,
+
+    /** 절반 이상 차면 sample-rate 개 중 1개만 남기고, 가득 차면 버린다. */
+    SAMPLE,
+
+    /** 가득 차면 block-timeout 까지 자리가 나기를 기다린 뒤 버린다. */
+    BLOCK
+}
@@ -0,0 +1,62 @@
+package com.alstjrzzz.srr.log;
+
+import lombok.Getter;
+
+/**
+ * 로그 파일에서 읽은 감사 로그 한 줄. AuditLogParser 가 줄마다 같은 객체를 다시 채운다.
+ * parameter 는 JSON 형식이면 인자 배열의 원문 그대로, 예전 텍스트 형식이면 [PARAMETER] 값 그대로다.
+ */
+@Getter
+public class AuditRecord {
+
+    /** JSON 형식 감사 로그 메시지의 시작. */
+    public static final String MARKER = "AUDIT ";
+
+    static final String TIMESTAMP = "timestamp";
+    static final String IP = "ip";
+    static final String METHOD = "method";
+    static final String URI = "uri";
+    static final String RESPONSE = "response";
+    static final String PARAMETER = "parameter";
+
+    private String timestamp;
+    private String ip;
+    private String method;
+    private String uri;
+    private String response;
+    private String parameter;
+
+    void clear() {
+
+        timestamp = null;
+        ip = null;
+        method = null;
+        uri = null;
+        response = null;
+        parameter = null;
+    }
+
+    void setTimestamp(String timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    void setIp(String ip) {
+        this.ip = ip;
+    }
+
+    void setMethod(String method) {
+        this.method = method;
+    }
+
+    void setUri(String uri) {
+        this.uri = uri;
+    }
+
+    void setResponse(String response) {
+        this.response = response;
+    }
+
+    void setParameter(String parameter) {
+        this.parameter = parameter;
+    }
+}
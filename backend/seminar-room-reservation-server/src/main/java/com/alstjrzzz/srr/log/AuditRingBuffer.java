@@ -0,0 +1,100 @@
+package com.alstjrzzz.srr.log;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 여러 요청 스레드가 넣고 하나의 writer 스레드가 꺼내는 크기 고정 링 버퍼.
+ * 칸마다 순번을 두어 생산자끼리는 tail 에 대한 CAS 한 번으로 자리를 잡고, 락 없이 동작한다.
+ * 가득 차면 기다리지 않고 offer 가 false 를 돌려준다. 초과 시 처리는 호출하는 쪽이 정한다.
+ */
+final class AuditRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> elements;
+    // 칸 i 의 순번이 pos 면 pos 번째 offer 가 쓸 수 있고, pos + 1 이면 pos 번째 poll 이 읽을 수 있다.
+    private final AtomicLongArray sequences;
+    private final int capacity;
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    AuditRingBuffer(int requestedCapacity) {
+
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2");
+        }
+
+        this.capacity = 1 << (32 - Integer.numberOfLeadingZeros(requestedCapacity - 1));
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(E element) {
+
+        long position = tail.get();
+        while (true) {
+
+            int index = (int) (position & mask);
+            long difference = sequences.getAcquire(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.setPlain(index, element);
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // 한 바퀴 전의 이벤트를 writer 가 아직 꺼내지 않았다.
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * writer 스레드에서만 호출한다. 꺼낸 개수를 돌려준다.
+     */
+    int drainTo(Consumer<? super E> consumer, int limit) {
+
+        long position = head.getPlain();
+        int drained = 0;
+
+        while (drained < limit) {
+
+            int index = (int) (position & mask);
+            if (sequences.getAcquire(index) != position + 1) {
+                break;
+            }
+
+            E element = elements.getPlain(index);
+            elements.setPlain(index, null);
+            sequences.setRelease(index, position + capacity);
+            position++;
+            drained++;
+
+            consumer.accept(element);
+        }
+
+        head.setRelease(position);
+        return drained;
+    }
+
+    int size() {
+
+        return (int) Math.max(0, tail.get() - head.getAcquire());
+    }
+
+    int capacity() {
+
+        return capacity;
+    }
+}
@@ -0,0 +1,9 @@
+package com.alstjrzzz.srr.log;
+
+/**
+ * 응답 본문을 로그의 RESPONSE 항목에 요약해서 남기고 싶을 때 구현한다.
+ */
+public interface AuditSummary {
+
+    String toAuditSummary();
+}
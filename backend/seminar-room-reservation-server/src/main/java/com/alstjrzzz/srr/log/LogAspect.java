@@ -1,46 +1,39 @@
 package com.alstjrzzz.srr.log;
 
-import com.alstjrzzz.srr.repository.ReservationRepository;
-import com.alstjrzzz.srr.repository.RoomRepository;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.validation.BindingResult;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.time.LocalDateTime;
 import java.util.List;
 
 @Aspect
 @Component
 public class LogAspect {
 
-    private static final Logger log = LoggerFactory.getLogger(LogAspect.class);
-    private final ObjectMapper objectMapper;
+    private final AuditLogWriter auditLogWriter;
 
-    public LogAspect(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+    public LogAspect(AuditLogWriter auditLogWriter) {
+        this.auditLogWriter = auditLogWriter;
     }
 
     @Pointcut("execution(* com.alstjrzzz.srr.controller.AdminController.adminAccess(..)) || " +
             "execution(* com.alstjrzzz.srr.controller.AdminController.deleteReservation(..)) || " +
+            "execution(* com.alstjrzzz.srr.controller.AdminController.deleteReservations(..)) || " +
             "execution(* com.alstjrzzz.srr.controller.AdminController.createRoom(..)) || " +
             "execution(* com.alstjrzzz.srr.controller.AdminController.updateRoom(..)) || " +
             "execution(* com.alstjrzzz.srr.controller.AdminController.deleteRoom(..)) || " +
             "execution(* com.alstjrzzz.srr.controller.AdminController.downloadLog(..)) || " +
             "execution(* com.alstjrzzz.srr.controller.ReservationController.createReservation(..)) || " +
+            "execution(* com.alstjrzzz.srr.controller.ReservationController.createReservations(..)) || " +
             "execution(* com.alstjrzzz.srr.controller.ReservationController.cancelReservation(..))")
     public void logMethods() {}
 
@@ -51,83 +44,66 @@ public class LogAspect {
 
         Object result = joinPoint.proceed();
 
-        String response;
-        if (result instanceof ResponseEntity) {
-            ResponseEntity<?> responseEntity = (ResponseEntity<?>) result;
-            response = responseEntity.getStatusCode().toString();
-        } else {
-            response = "VOID";
+        HttpStatusCode status = null;
+        String summary = null;
+        if (result instanceof ResponseEntity<?> responseEntity) {
+            status = responseEntity.getStatusCode();
+            if (responseEntity.getBody() instanceof AuditSummary auditSummary) {
+                summary = auditSummary.toAuditSummary();
+            }
         }
 
-        String parameter = getMethodParameters(joinPoint.getArgs());
-
-        log.info("[TIMESTAMP][{}], [IP][{}], [METHOD][{}], [URI][{}], [RESPONSE][{}], [PARAMETER][{}]",
-                LocalDateTime.now(),
+        // 직렬화는 AuditLogWriter 스레드에서 한다. 요청 스레드에서는 원본 값만 잡아 둔다.
+        auditLogWriter.publish(new AuditEvent(
+                System.currentTimeMillis(),
                 request.getRemoteAddr(),
                 request.getMethod(),
                 request.getRequestURI(),
-                response,
-                parameter);
+                status,
+                summary,
+                captureArgs(joinPoint.getArgs())));
 
         return result;
     }
 
-    private String getMethodParameters(Object[] args) {
+    /**
+     * getArgs() 는 복사본이라 그대로 넘긴다.
+     * 업로드 파일은 요청이 끝나면 임시 파일이 지워지므로 이름과 크기만 지금 문자열로 만들어 둔다.
+     */
+    private Object[] captureArgs(Object[] args) {
 
-        if (args == null || args.length == 0) {
-            return "";
+        if (args == null) {
+            return new Object[0];
         }
 
-        StringBuilder builder = new StringBuilder();
         for (int i = 0; i < args.length; i++) {
 
             Object arg = args[i];
 
             if (arg instanceof HttpServletResponse) {
-                continue;
+                args[i] = AuditEvent.SKIP;
             }
-
-            if (arg instanceof MultipartFile) {
-                MultipartFile file = (MultipartFile) arg;
-                builder.append(String.format("file(name: %s, size: %d)",
-                        file.getOriginalFilename(), file.getSize()));
+            else if (arg instanceof MultipartFile file) {
+                args[i] = new AuditEvent.Raw(describe(file));
             }
-            else if (arg instanceof List) {
-                List<?> list = (List<?>) arg;
-
-                if (!list.isEmpty() && list.get(0) instanceof MultipartFile) {
-
-                    List<MultipartFile> fileList = (List<MultipartFile>) list;
-                    builder.append("list(");
-                    for (int j = 0; j < fileList.size(); j++) {
-                        MultipartFile file = fileList.get(j);
-                        builder.append(String.format("file(name: %s, size: %d)",
-                                file.getOriginalFilename(), file.getSize()));
-                        if (j < fileList.size() - 1) {
-                            builder.append(", ");
-                        }
+            else if (arg instanceof List<?> list && !list.isEmpty() && list.get(0) instanceof MultipartFile) {
+
+                StringBuilder builder = new StringBuilder("list(");
+                for (int j = 0; j < list.size(); j++) {
+                    if (j > 0) {
+                        builder.append(", ");
                     }
-                    builder.append(")");
-                } else {
-                    builder.append(String.format("list(size: %d)", list.size()));
-                }
-            }
-            else {
-                try {
-                    builder.append(objectMapper.writeValueAsString(arg));
-                } catch (JsonProcessingException e) {
-                    log.warn("Failed to serialize object to JSON: {}", arg, e);
-                    builder.append(arg.toString());
+                    builder.append(describe((MultipartFile) list.get(j)));
                 }
-            }
-
-            if (i < args.length - 1) {
-                builder.append(", ");
+                args[i] = new AuditEvent.Raw(builder.append(")").toString());
             }
         }
 
-        return builder.toString();
+        return args;
     }
-}
 
+    private String describe(MultipartFile file) {
 
+        return "file(name: " + file.getOriginalFilename() + ", size: " + file.getSize() + ")";
+    }
+}
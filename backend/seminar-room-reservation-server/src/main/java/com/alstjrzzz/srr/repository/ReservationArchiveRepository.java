@@ -0,0 +1,86 @@
+package com.alstjrzzz.srr.repository;
+
+import com.alstjrzzz.srr.entity.ReservationArchiveEntity;
+import com.alstjrzzz.srr.repository.projection.ReservationTimeView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface ReservationArchiveRepository extends JpaRepository<ReservationArchiveEntity, Long> {
+
+    // ReservationRepository.ADMIN_FILTER 와 같은 조건
+    String ADMIN_FILTER = "WHERE r.startTime >= :from " +
+            "AND r.startTime < :to " +
+            "AND (:roomId IS NULL OR r.room.id = :roomId) " +
+            "AND (:studentId IS NULL OR r.studentId = :studentId) " +
+            "AND (:studentName IS NULL OR r.studentName = :studentName) ";
+
+    /**
+     * reservation 의 예약을 그대로 복사한다. 같은 트랜잭션에서 원본을 삭제해야 한다.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO reservation_archive (reservation_id, room_id, nickname, student_name, student_id, " +
+            "phone_number, purpose, start_time, end_time, created_at, archived_at) " +
+            "SELECT reservation_id, room_id, nickname, student_name, student_id, " +
+            "phone_number, purpose, start_time, end_time, created_at, :archivedAt " +
+            "FROM reservation " +
+            "WHERE reservation_id IN :ids",
+            nativeQuery = true)
+    int copyFromReservation(@Param("ids") Collection<Long> ids,
+                            @Param("archivedAt") LocalDateTime archivedAt);
+
+    /**
+     * ReservationRepository.findAdminReservationsAfter 와 같은 keyset 페이지
+     */
+    @Query("SELECT r " +
+            "FROM ReservationArchiveEntity r " +
+            "JOIN FETCH r.room " +
+            ADMIN_FILTER +
+            "AND (r.startTime > :cursorStartTime OR r.id > :cursorId) " +
+            "ORDER BY r.startTime, r.id")
+    List<ReservationArchiveEntity> findAdminReservationsAfter(@Param("roomId") Long roomId,
+                                                              @Param("from") LocalDateTime from,
+                                                              @Param("to") LocalDateTime to,
+                                                              @Param("studentId") Integer studentId,
+                                                              @Param("studentName") String studentName,
+                                                              @Param("cursorStartTime") LocalDateTime cursorStartTime,
+                                                              @Param("cursorId") Long cursorId,
+                                                              Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT r " +
+            "FROM ReservationArchiveEntity r " +
+            "JOIN FETCH r.room " +
+            ADMIN_FILTER +
+            "ORDER BY r.startTime, r.id")
+    Stream<ReservationArchiveEntity> streamAdminReservations(@Param("roomId") Long roomId,
+                                                             @Param("from") LocalDateTime from,
+                                                             @Param("to") LocalDateTime to,
+                                                             @Param("studentId") Integer studentId,
+                                                             @Param("studentName") String studentName);
+
+    @Query("SELECT new com.alstjrzzz.srr.repository.projection.ReservationTimeView(" +
+            "r.room.id, r.startTime, r.endTime) " +
+            "FROM ReservationArchiveEntity r " +
+            "WHERE r.id = :reservationId")
+    Optional<ReservationTimeView> findTimeById(@Param("reservationId") Long reservationId);
+
+    @Modifying
+    @Query("DELETE " +
+            "FROM ReservationArchiveEntity r " +
+            "WHERE r.id = :reservationId")
+    int deleteByReservationId(@Param("reservationId") Long reservationId);
+}
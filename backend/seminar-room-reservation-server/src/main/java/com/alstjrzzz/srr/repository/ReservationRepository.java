@@ -1,36 +1,184 @@
 package com.alstjrzzz.srr.repository;
 
 import com.alstjrzzz.srr.entity.ReservationEntity;
+import com.alstjrzzz.srr.repository.projection.ReservationTimeView;
+import com.alstjrzzz.srr.repository.projection.ReservationView;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<ReservationEntity, Long> {
 
-    @Query("SELECT r " +
+    @Query("SELECT new com.alstjrzzz.srr.repository.projection.ReservationView(" +
+            "r.id, r.room.id, r.nickname, r.purpose, r.startTime, r.endTime, r.createdAt) " +
             "FROM ReservationEntity r " +
             "WHERE r.room.id = :roomId " +
             "AND r.startTime BETWEEN :start AND :end")
-    List<ReservationEntity> findReservationsByRoomAndDateRange(@Param("roomId") Long roomId,
-                                                               @Param("start") LocalDateTime start,
-                                                               @Param("end") LocalDateTime end);
+    List<ReservationView> findReservationsByRoomAndDateRange(@Param("roomId") Long roomId,
+                                                             @Param("start") LocalDateTime start,
+                                                             @Param("end") LocalDateTime end);
 
+    /**
+     * 겹침 조건만으로는 (room_id, start_time, end_time) 인덱스를 방의 첫 예약부터 읽는다.
+     * 예약 길이에는 상한이 있으므로 earliestStart(startTime - 최대 예약 길이)로 start_time 의 하한을 걸어 읽는 범위를 좁힌다.
+     * 아래의 겹침 조회도 같다.
+     */
     @Query("SELECT r " +
             "FROM ReservationEntity r " +
             "WHERE r.room.id = :roomId " +
+            "AND r.startTime >= :earliestStart " +
             "AND r.startTime < :endTime " +
             "AND r.endTime > :startTime")
     List<ReservationEntity> findConflictingReservations(@Param("roomId") Long roomId,
+                                                        @Param("earliestStart") LocalDateTime earliestStart,
                                                         @Param("startTime") LocalDateTime startTime,
                                                         @Param("endTime") LocalDateTime endTime);
 
+    /**
+     * 일괄 삭제할 예약. 삭제할 때까지 다른 트랜잭션이 바꾸지 못하도록 행을 잠근다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r " +
+            "FROM ReservationEntity r " +
+            "WHERE r.room.id IN :roomIds " +
+            "AND r.startTime >= :earliestStart " +
+            "AND r.startTime < :endTime " +
+            "AND r.endTime > :startTime")
+    List<ReservationEntity> findOverlappingForUpdate(@Param("roomIds") Collection<Long> roomIds,
+                                                     @Param("earliestStart") LocalDateTime earliestStart,
+                                                     @Param("startTime") LocalDateTime startTime,
+                                                     @Param("endTime") LocalDateTime endTime);
+
+    @Query("SELECT new com.alstjrzzz.srr.repository.projection.ReservationView(" +
+            "r.id, r.room.id, r.nickname, r.purpose, r.startTime, r.endTime, r.createdAt) " +
+            "FROM ReservationEntity r " +
+            "WHERE r.room.id IN :roomIds " +
+            "AND r.startTime >= :earliestStart " +
+            "AND r.startTime < :end " +
+            "AND r.endTime > :start " +
+            "ORDER BY r.room.id, r.startTime")
+    List<ReservationView> findReservationsByRoomsAndDateRange(@Param("roomIds") Collection<Long> roomIds,
+                                                              @Param("earliestStart") LocalDateTime earliestStart,
+                                                              @Param("start") LocalDateTime start,
+                                                              @Param("end") LocalDateTime end);
+
+    /**
+     * 방 캘린더 피드. 결과를 한 번에 올리지 않고 fetch size 단위로 읽는다. 호출하는 쪽에서 트랜잭션 안에서 닫아야 한다.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.alstjrzzz.srr.repository.projection.ReservationView(" +
+            "r.id, r.room.id, r.nickname, r.purpose, r.startTime, r.endTime, r.createdAt) " +
+            "FROM ReservationEntity r " +
+            "WHERE r.room.id = :roomId " +
+            "AND r.startTime >= :start " +
+            "AND r.startTime < :end " +
+            "ORDER BY r.startTime")
+    Stream<ReservationView> streamReservationsByRoom(@Param("roomId") Long roomId,
+                                                     @Param("start") LocalDateTime start,
+                                                     @Param("end") LocalDateTime end);
+
+    @Query("SELECT new com.alstjrzzz.srr.repository.projection.ReservationView(" +
+            "r.id, r.room.id, r.nickname, r.purpose, r.startTime, r.endTime, r.createdAt) " +
+            "FROM ReservationEntity r " +
+            "WHERE r.id IN :ids")
+    List<ReservationView> findReservationViewsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.alstjrzzz.srr.repository.projection.ReservationTimeView(" +
+            "r.room.id, r.startTime, r.endTime) " +
+            "FROM ReservationEntity r " +
+            "WHERE r.id = :reservationId")
+    Optional<ReservationTimeView> findTimeById(@Param("reservationId") Long reservationId);
+
     @Query("SELECT r " +
             "FROM ReservationEntity r " +
-            "LEFT JOIN FETCH r.room")
-    List<ReservationEntity> findAllWithRoom();
+            "WHERE r.endTime > :time")
+    List<ReservationEntity> findReservationsEndingAfter(@Param("time") LocalDateTime time);
+
+    // 기간은 항상 값이 있어 start_time 인덱스 범위로 읽고, 나머지 조건은 읽은 행에 적용한다.
+    String ADMIN_FILTER = "WHERE r.startTime >= :from " +
+            "AND r.startTime < :to " +
+            "AND (:roomId IS NULL OR r.room.id = :roomId) " +
+            "AND (:studentId IS NULL OR r.studentId = :studentId) " +
+            "AND (:studentName IS NULL OR r.studentName = :studentName) ";
+
+    /**
+     * (startTime, id) 순서의 keyset 페이지. (cursorStartTime, cursorId) 다음부터 조회한다.
+     * from 에 cursorStartTime 을 넘기면 이전 페이지를 다시 읽지 않고 start_time 인덱스에서 바로 이어 읽는다.
+     */
+    @Query("SELECT r " +
+            "FROM ReservationEntity r " +
+            "JOIN FETCH r.room " +
+            ADMIN_FILTER +
+            "AND (r.startTime > :cursorStartTime OR r.id > :cursorId) " +
+            "ORDER BY r.startTime, r.id")
+    List<ReservationEntity> findAdminReservationsAfter(@Param("roomId") Long roomId,
+                                                       @Param("from") LocalDateTime from,
+                                                       @Param("to") LocalDateTime to,
+                                                       @Param("studentId") Integer studentId,
+                                                       @Param("studentName") String studentName,
+                                                       @Param("cursorStartTime") LocalDateTime cursorStartTime,
+                                                       @Param("cursorId") Long cursorId,
+                                                       Limit limit);
+
+    /**
+     * 결과를 한 번에 올리지 않고 fetch size 단위로 읽는다. 호출하는 쪽에서 트랜잭션 안에서 닫아야 한다.
+     * MySQL 은 URL 의 useCursorFetch=true 가 있어야 서버 커서로 나누어 받는다.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT r " +
+            "FROM ReservationEntity r " +
+            "JOIN FETCH r.room " +
+            ADMIN_FILTER +
+            "ORDER BY r.startTime, r.id")
+    Stream<ReservationEntity> streamAdminReservations(@Param("roomId") Long roomId,
+                                                      @Param("from") LocalDateTime from,
+                                                      @Param("to") LocalDateTime to,
+                                                      @Param("studentId") Integer studentId,
+                                                      @Param("studentName") String studentName);
+
+    @Modifying
+    @Query("DELETE " +
+            "FROM ReservationEntity r " +
+            "WHERE r.id = :reservationId " +
+            "AND r.studentId = :studentId " +
+            "AND r.studentName = :studentName")
+    int deleteByIdAndStudent(@Param("reservationId") Long reservationId,
+                             @Param("studentId") Integer studentId,
+                             @Param("studentName") String studentName);
+
+    /**
+     * 보관할 예약 ID. end_time 인덱스에서 오래된 순으로 limit 개만 읽는다.
+     */
+    @Query("SELECT r.id " +
+            "FROM ReservationEntity r " +
+            "WHERE r.endTime < :threshold " +
+            "ORDER BY r.endTime")
+    List<Long> findIdsEndingBefore(@Param("threshold") LocalDateTime threshold, Limit limit);
+
+    @Modifying
+    @Query("DELETE " +
+            "FROM ReservationEntity r " +
+            "WHERE r.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE " +
+            "FROM ReservationEntity r " +
+            "WHERE r.id = :reservationId")
+    int deleteByReservationId(@Param("reservationId") Long reservationId);
 }
@@ -0,0 +1,9 @@
+package com.alstjrzzz.srr.repository;
+
+import com.alstjrzzz.srr.entity.ReservationSlotEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReservationSlotRepository extends JpaRepository<ReservationSlotEntity, ReservationSlotEntity.SlotId> {
+}
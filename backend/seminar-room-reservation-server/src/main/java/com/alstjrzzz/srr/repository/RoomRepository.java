@@ -1,6 +1,8 @@
 package com.alstjrzzz.srr.repository;
 
 import com.alstjrzzz.srr.entity.RoomEntity;
+import com.alstjrzzz.srr.repository.projection.RoomImageView;
+import com.alstjrzzz.srr.repository.projection.RoomView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -10,8 +12,14 @@ import java.util.List;
 @Repository
 public interface RoomRepository extends JpaRepository<RoomEntity, Long> {
 
-    @Query("SELECT DISTINCT r " +
+    @Query("SELECT new com.alstjrzzz.srr.repository.projection.RoomView(" +
+            "r.id, r.name, r.location, r.capacity, r.equipment, r.description, r.available, r.createdAt, r.updatedAt) " +
             "FROM RoomEntity r " +
-            "LEFT JOIN FETCH r.images")
-    List<RoomEntity> findAllWithImages();
+            "ORDER BY r.id")
+    List<RoomView> findAllRoomViews();
+
+    @Query("SELECT new com.alstjrzzz.srr.repository.projection.RoomImageView(r.id, i) " +
+            "FROM RoomEntity r " +
+            "JOIN r.images i")
+    List<RoomImageView> findAllRoomImages();
 }
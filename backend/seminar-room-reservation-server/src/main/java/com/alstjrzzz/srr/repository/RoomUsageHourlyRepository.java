@@ -0,0 +1,42 @@
+package com.alstjrzzz.srr.repository;
+
+import com.alstjrzzz.srr.entity.RoomUsageHourlyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RoomUsageHourlyRepository extends JpaRepository<RoomUsageHourlyEntity, RoomUsageHourlyEntity.UsageId> {
+
+    /**
+     * 행이 없으면 만들고 있으면 값을 더한다. 동시에 같은 행을 갱신해도 값이 유실되지 않는다.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO room_usage_hourly (room_id, bucket_start, booked_minutes, reservation_count, cancellation_count) " +
+            "VALUES (:roomId, :bucketStart, :bookedMinutes, :reservationCount, :cancellationCount) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "booked_minutes = booked_minutes + :bookedMinutes, " +
+            "reservation_count = reservation_count + :reservationCount, " +
+            "cancellation_count = cancellation_count + :cancellationCount",
+            nativeQuery = true)
+    int add(@Param("roomId") Long roomId,
+            @Param("bucketStart") LocalDateTime bucketStart,
+            @Param("bookedMinutes") int bookedMinutes,
+            @Param("reservationCount") int reservationCount,
+            @Param("cancellationCount") int cancellationCount);
+
+    @Query("SELECT u " +
+            "FROM RoomUsageHourlyEntity u " +
+            "WHERE u.id.bucketStart >= :from " +
+            "AND u.id.bucketStart < :to " +
+            "AND (:roomId IS NULL OR u.id.roomId = :roomId) " +
+            "ORDER BY u.id.roomId, u.id.bucketStart")
+    List<RoomUsageHourlyEntity> findUsage(@Param("roomId") Long roomId,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,11 @@
+package com.alstjrzzz.srr.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * 취소/삭제 이벤트에 담을 방과 시간. 메모리 인덱스에 없는 예약일 때만 PK 로 읽는다.
+ */
+public record ReservationTimeView(Long roomId,
+                                  LocalDateTime startTime,
+                                  LocalDateTime endTime) {
+}
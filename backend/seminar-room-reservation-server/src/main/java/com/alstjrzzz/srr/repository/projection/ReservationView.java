@@ -0,0 +1,16 @@
+package com.alstjrzzz.srr.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * 공개 예약 현황에 필요한 컬럼만 담은 조회 전용 projection.
+ * 학생 정보와 연락처는 읽지 않고, 영속성 컨텍스트에 올라가지 않으므로 dirty checking 스냅샷도 만들지 않는다.
+ */
+public record ReservationView(Long id,
+                              Long roomId,
+                              String nickname,
+                              String purpose,
+                              LocalDateTime startTime,
+                              LocalDateTime endTime,
+                              LocalDateTime createdAt) {
+}
@@ -0,0 +1,4 @@
+package com.alstjrzzz.srr.repository.projection;
+
+public record RoomImageView(Long roomId, String image) {
+}
@@ -0,0 +1,17 @@
+package com.alstjrzzz.srr.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * 방 목록 조회 전용 projection. 이미지는 RoomImageView 로 따로 읽는다.
+ */
+public record RoomView(Long id,
+                       String name,
+                       String location,
+                       Integer capacity,
+                       String equipment,
+                       String description,
+                       boolean available,
+                       LocalDateTime createdAt,
+                       LocalDateTime updatedAt) {
+}
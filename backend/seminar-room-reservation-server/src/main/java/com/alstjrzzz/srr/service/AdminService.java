@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.OutputStream;
 
 @Service
 @RequiredArgsConstructor
@@ -23,8 +24,8 @@ public class AdminService {
         }
     }
 
-    public byte[] downloadLog() throws IOException {
+    public void downloadLog(OutputStream out) throws IOException {
 
-        return logService.createLogExcel();
+        logService.writeLogExcel(out);
     }
 }
\ No newline at end of file
@@ -1,24 +1,27 @@
 package com.alstjrzzz.srr.service;
 
+import com.alstjrzzz.srr.log.AuditLogParser;
+import com.alstjrzzz.srr.log.AuditRecord;
 import com.alstjrzzz.srr.utils.ExcelUtil;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
 
 @Service
 public class LogService {
 
+    // 시트마다 메모리에 두는 행 수. 넘치는 행은 임시 파일로 내보낸다.
+    private static final int ROW_ACCESS_WINDOW = 100;
+
     @Value("${logging.file.name}")
     private String LOG_FILE_PATH;
 
@@ -28,77 +31,78 @@ public class LogService {
     @Value("${logging.logback.rollingpolicy.file-name-pattern}")
     private String FILE_NAME_PATTERN;
 
-    public byte[] createLogExcel() throws IOException {
-
-        ExcelUtil excelUtil = new ExcelUtil();
-
-        List<String> allLogs = readAllLogs();
+    /**
+     * 로그 파일을 한 줄씩 읽어 바로 엑셀 행으로 쓰고, 완성된 파일을 out 으로 내보낸다.
+     * 시트마다 ROW_ACCESS_WINDOW 행만 메모리에 두므로 로그 양과 관계없이 힙 사용량이 일정하다.
+     */
+    public void writeLogExcel(OutputStream out) throws IOException {
 
-        createReadme(excelUtil);
-        excelUtil.createSheet("access", Arrays.asList("TIMESTAMP", "IP", "METHOD", "RESPONSE", "PARAMETER"));
-        excelUtil.createSheet("log", Arrays.asList("TIMESTAMP", "IP", "METHOD", "RESPONSE", "PARAMETER"));
-        excelUtil.createSheet("reservation", Arrays.asList("TIMESTAMP", "IP", "METHOD", "RESPONSE", "PARAMETER"));
-        excelUtil.createSheet("room", Arrays.asList("TIMESTAMP", "IP", "METHOD", "RESPONSE", "PARAMETER"));
+        try (ExcelUtil excelUtil = ExcelUtil.streaming(ROW_ACCESS_WINDOW)) {
 
-        for (String log : allLogs) {
+            createReadme(excelUtil);
+            excelUtil.createSheet("access", Arrays.asList("TIMESTAMP", "IP", "METHOD", "RESPONSE", "PARAMETER"));
+            excelUtil.createSheet("log", Arrays.asList("TIMESTAMP", "IP", "METHOD", "RESPONSE", "PARAMETER"));
+            excelUtil.createSheet("reservation", Arrays.asList("TIMESTAMP", "IP", "METHOD", "RESPONSE", "PARAMETER"));
+            excelUtil.createSheet("room", Arrays.asList("TIMESTAMP", "IP", "METHOD", "RESPONSE", "PARAMETER"));
 
-            Map<String, String> logMap = convertLogToMap(log);
+            AuditLogParser parser = new AuditLogParser();
+            AuditRecord record = new AuditRecord();
 
-            String uri = logMap.get("URI");
+            for (Path logFile : findLogFiles()) {
+                try (BufferedReader reader = openLogFile(logFile)) {
 
-            if (uri == null || uri.isEmpty()) {
-                continue;
+                    String log;
+                    while ((log = reader.readLine()) != null) {
+                        addLog(excelUtil, parser, record, log);
+                    }
+                }
             }
 
-            List<String> data = Arrays.asList(
-                    logMap.get("TIMESTAMP"),
-                    logMap.get("IP"),
-                    logMap.get("METHOD"),
-                    logMap.get("RESPONSE"),
-                    logMap.get("PARAMETER")
-            );
-
-            if (uri.contains("access")) {
-                excelUtil.addData("access", data);
-            } else if (uri.contains("log")) {
-                excelUtil.addData("log", data);
-            } else if (uri.contains("reservation")) {
-                excelUtil.addData("reservation", data);
-            } else if (uri.contains("room")) {
-                excelUtil.addData("room", data);
-            }
+            excelUtil.write(out);
         }
+    }
 
-        try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
-            excelUtil.write(os);
+    private void addLog(ExcelUtil excelUtil, AuditLogParser parser, AuditRecord record, String log) {
 
-            return os.toByteArray();
+        if (!parser.parse(log, record)) {
+            return;
         }
-    }
 
-    private Map<String, String> convertLogToMap(String log) {
+        String uri = record.getUri();
 
-        Map<String, String> logMap = new HashMap<>();
-
-        Pattern pattern = Pattern.compile("\\[(TIMESTAMP|IP|METHOD|URI|RESPONSE|PARAMETER)\\]\\[(.*?)\\]");
-        Matcher matcher = pattern.matcher(log);
+        if (uri == null || uri.isEmpty()) {
+            return;
+        }
 
-        while (matcher.find()) {
-            String key = matcher.group(1);
-            String value = matcher.group(2);
+        List<String> data = Arrays.asList(
+                record.getTimestamp(),
+                record.getIp(),
+                record.getMethod(),
+                record.getResponse(),
+                record.getParameter()
+        );
 
-            logMap.put(key, value);
+        if (uri.contains("access")) {
+            excelUtil.addData("access", data);
+        } else if (uri.contains("log")) {
+            excelUtil.addData("log", data);
+        } else if (uri.contains("reservation")) {
+            excelUtil.addData("reservation", data);
+        } else if (uri.contains("room")) {
+            excelUtil.addData("room", data);
         }
-
-        return logMap;
     }
 
-    private List<String> readAllLogs() throws IOException {
+    /**
+     * 현재 로그 파일과 max-history 일 동안의 압축된 로그 파일을 예전처럼 현재 파일, 어제, 그제... 순서로 찾는다.
+     */
+    private List<Path> findLogFiles() {
 
-        List<String> allLogs = new ArrayList<>();
+        List<Path> logFiles = new ArrayList<>();
 
-        try (Stream<String> lines = Files.lines(Paths.get(LOG_FILE_PATH))) {
-            lines.forEach(allLogs::add);
+        Path current = Paths.get(LOG_FILE_PATH);
+        if (Files.exists(current)) {
+            logFiles.add(current);
         }
 
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
@@ -118,16 +122,26 @@ public class LogService {
                     break;
                 }
 
-                try (GZIPInputStream gzis = new GZIPInputStream(Files.newInputStream(path));
-                     BufferedReader reader = new BufferedReader(new InputStreamReader(gzis))) {
-                    reader.lines().forEach(allLogs::add);
-                }
-
+                logFiles.add(path);
                 fileIndex++;
             }
         }
 
-        return allLogs;
+        return logFiles;
+    }
+
+    private BufferedReader openLogFile(Path path) throws IOException {
+
+        InputStream in = Files.newInputStream(path);
+        try {
+            if (path.getFileName().toString().endsWith(".gz")) {
+                in = new GZIPInputStream(in);
+            }
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
     }
 
     private void createReadme(ExcelUtil excelUtil) {
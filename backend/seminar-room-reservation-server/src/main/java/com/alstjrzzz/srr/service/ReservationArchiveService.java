@@ -0,0 +1,37 @@
+package com.alstjrzzz.srr.service;
+
+import com.alstjrzzz.srr.repository.ReservationArchiveRepository;
+import com.alstjrzzz.srr.repository.ReservationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ReservationArchiveService {
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationArchiveRepository reservationArchiveRepository;
+
+    /**
+     * threshold 이전에 끝난 예약을 최대 batchSize 개 reservation_archive 로 옮긴다.
+     * 복사와 삭제를 한 트랜잭션에서 하므로 조회하는 쪽에서는 예약이 두 테이블에 동시에 있거나 사라진 것처럼 보이지 않는다.
+     * 슬롯은 FK(ON DELETE CASCADE)로 함께 삭제된다. 화면에 보이는 내용이 바뀌지 않으므로 변경 이벤트는 발행하지 않는다.
+     * @return 옮긴 예약 수
+     */
+    @Transactional
+    public int archiveBatch(LocalDateTime threshold, int batchSize) {
+
+        List<Long> reservationIds = reservationRepository.findIdsEndingBefore(threshold, Limit.of(batchSize));
+        if (reservationIds.isEmpty()) {
+            return 0;
+        }
+
+        reservationArchiveRepository.copyFromReservation(reservationIds, LocalDateTime.now());
+        return reservationRepository.deleteByIds(reservationIds);
+    }
+}
@@ -1,54 +1,146 @@
 package com.alstjrzzz.srr.service;
 
+import com.alstjrzzz.srr.cache.RoomCatalog;
+import com.alstjrzzz.srr.domain.FreeSlot;
 import com.alstjrzzz.srr.domain.Reservation;
+import com.alstjrzzz.srr.domain.ReservationFilter;
+import com.alstjrzzz.srr.dto.admin.AdminReservationCursor;
+import com.alstjrzzz.srr.domain.Room;
 import com.alstjrzzz.srr.dto.reservation.CancelReservationRequestDTO;
+import com.alstjrzzz.srr.entity.ReservationArchiveEntity;
 import com.alstjrzzz.srr.entity.ReservationEntity;
+import com.alstjrzzz.srr.entity.ReservationSlotEntity;
 import com.alstjrzzz.srr.entity.RoomEntity;
+import com.alstjrzzz.srr.event.ReservationChangedEvent;
 import com.alstjrzzz.srr.exception.*;
+import com.alstjrzzz.srr.index.ReservationIntervalIndex;
+import com.alstjrzzz.srr.index.ReservationOccupancyIndex;
+import com.alstjrzzz.srr.repository.ReservationArchiveRepository;
 import com.alstjrzzz.srr.repository.ReservationRepository;
+import com.alstjrzzz.srr.repository.ReservationSlotRepository;
 import com.alstjrzzz.srr.repository.RoomRepository;
+import com.alstjrzzz.srr.repository.projection.ReservationTimeView;
+import com.alstjrzzz.srr.repository.projection.ReservationView;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ReservationService {
 
+    // 관리자 조회에서 기간을 지정하지 않았을 때 쓰는 범위. MySQL DATETIME 이 표현할 수 있는 값이어야 한다.
+    private static final LocalDateTime FILTER_MIN_TIME = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final LocalDateTime FILTER_MAX_TIME = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    // validateReservationTime 이 허용하는 가장 긴 예약(현재 - 1시간 ~ 7일 후). 겹침 조회에서 start_time 의 하한을 정한다.
+    private static final Duration MAX_RESERVATION_LENGTH = Duration.ofDays(7).plusHours(1);
+
+    // 관리자 목록 순서
+    private static final Comparator<ReservationEntity> ADMIN_ORDER = Comparator
+            .comparing(ReservationEntity::getStartTime)
+            .thenComparing(ReservationEntity::getId);
+
     private final ReservationRepository reservationRepository;
+    private final ReservationArchiveRepository reservationArchiveRepository;
     private final RoomRepository roomRepository;
+    private final RoomCatalog roomCatalog;
+    private final ReservationSlotRepository reservationSlotRepository;
+    private final ReservationIntervalIndex reservationIntervalIndex;
+    private final ReservationOccupancyIndex reservationOccupancyIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+
+    @Value("${reservation.slot-minutes}")
+    private int slotMinutes;
+
+    @Value("${reservation.schedule.max-range}")
+    private Duration scheduleMaxRange;
+
+    @Value("${reservation.schedule.max-rooms}")
+    private int scheduleMaxRooms;
+
+    @Value("${reservation.search.candidates-per-room}")
+    private int candidatesPerRoom;
 
     @Transactional
     public void reservation(Reservation reservation) {
 
+        reservations(List.of(reservation));
+    }
+
+    /**
+     * 여러 예약을 한 트랜잭션에서 검증하고 한 번에 저장한다. 하나라도 실패하면 모두 취소된다.
+     */
+    @Transactional
+    public void reservations(List<Reservation> reservations) {
+
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime maxReservationTime = now.plusDays(7);
-        LocalDateTime minAllowedStartTime = now.minusHours(1);
+        for (Reservation reservation : reservations) {
+            validateReservationTime(reservation, now);
+        }
 
-        if (reservation.getEndTime().isBefore(reservation.getStartTime()) ||
-                reservation.getStartTime().isBefore(minAllowedStartTime) ||
-                reservation.getEndTime().isBefore(now) ||
-                reservation.getStartTime().isAfter(maxReservationTime) ||
-                reservation.getEndTime().isAfter(maxReservationTime)) {
+        checkOverlapWithinBatch(reservations);
 
-            throw new InvalidReservationTimeException("예약 시간이 올바르지 않습니다.");
+        for (Reservation reservation : reservations) {
+            if (!isReservationTimeAvailable(reservation.getRoomId(), reservation.getStartTime(), reservation.getEndTime())) {
+                throw new DuplicateReservationException("이미 예약된 시간입니다.");
+            }
         }
 
-        if (!isReservationTimeAvailable(reservation.getRoomId(), reservation.getStartTime(), reservation.getEndTime())) {
-            throw new DuplicateReservationException("이미 예약된 시간입니다.");
+        Set<Long> roomIds = reservations.stream()
+                .map(Reservation::getRoomId)
+                .collect(Collectors.toSet());
+        Map<Long, RoomEntity> roomEntities = roomRepository.findAllById(roomIds).stream()
+                .collect(Collectors.toMap(RoomEntity::getId, Function.identity()));
+
+        List<ReservationEntity> reservationEntities = new ArrayList<>();
+        for (Reservation reservation : reservations) {
+
+            RoomEntity roomEntity = roomEntities.get(reservation.getRoomId());
+            if (roomEntity == null) {
+                throw new RoomNotFoundException("존재하지 않는 방 ID 입니다.");
+            }
+
+            reservationEntities.add(ReservationEntity.from(reservation, roomEntity));
         }
 
-        RoomEntity roomEntity = roomRepository.findById(reservation.getRoomId())
-                .orElseThrow(() -> new RoomNotFoundException("존재하지 않는 방 ID 입니다."));
+        // ID는 시퀀스에서 미리 할당되므로 INSERT는 flush 시점에 JDBC 배치로 전송된다.
+        reservationRepository.saveAll(reservationEntities);
+        claimSlots(reservationEntities);
 
-        reservationRepository.save(ReservationEntity.from(reservation, roomEntity));
+        for (ReservationEntity reservationEntity : reservationEntities) {
+            publishEvent(ReservationChangedEvent.Type.CREATED, reservationEntity);
+        }
     }
 
+    /**
+     * 조건부 DELETE 한 번으로 취소한다. 슬롯은 FK(ON DELETE CASCADE)로 함께 삭제된다.
+     * 이벤트에 담을 방과 시간은 메모리 인덱스에서 찾고, 인덱스에 없는 예약만 DB에서 읽는다.
+     */
     @Transactional
     public void cancelReservation(CancelReservationRequestDTO requestDTO) {
 
@@ -56,55 +148,471 @@ public class ReservationService {
         Integer studentId = requestDTO.getStudentId();
         String studentName = requestDTO.getStudentName();
 
-        Reservation reservation = reservationRepository.findById(reservationId)
-                .orElseThrow(() -> new InvalidReservationIdException("존재하지 않는 예약 ID입니다."))
-                .toReservation();
-
-        if (reservation.getStudentId().equals(studentId) &&
-                reservation.getStudentName().equals(studentName)) {
-
-            RoomEntity roomEntity = roomRepository.findById(reservation.getRoomId())
-                    .orElseThrow(() -> new RoomNotFoundException("존재하지 않는 방 ID 입니다."));
-
-            reservationRepository.delete(ReservationEntity.from(reservation, roomEntity));
+        ReservationTimeView reservationTime = findReservationTime(reservationId);
+        if (reservationTime == null) {
+            throw new InvalidReservationIdException("존재하지 않는 예약 ID입니다.");
         }
-        else {
+
+        int deleted = reservationRepository.deleteByIdAndStudent(reservationId, studentId, studentName);
+        if (deleted == 0) {
+            // 예약은 있으므로 학번/이름이 틀린 것이다.
             throw new InvalidStudentInfoException("입력하신 학번 또는 암호가 올바르지 않습니다.");
         }
+
+        publishEvent(ReservationChangedEvent.Type.CANCELED, reservationId, reservationTime);
     }
 
+    /**
+     * 관리자 목록에는 보관된 예약도 보이므로, reservation 에 없으면 reservation_archive 에서 삭제한다.
+     * 보관된 예약도 통계에 남아 있으므로 방과 시간을 담아 이벤트를 보낸다.
+     */
     @Transactional
     public void deleteReservation(Long reservationId) {
 
-        ReservationEntity reservationEntity = reservationRepository.findById(reservationId)
-                .orElseThrow(() -> new InvalidReservationIdException("존재하지 않는 예약 ID입니다."));
+        ReservationTimeView reservationTime = findReservationTime(reservationId);
+        if (reservationTime == null || reservationRepository.deleteByReservationId(reservationId) == 0) {
+            reservationTime = reservationArchiveRepository.findTimeById(reservationId).orElse(null);
+            if (reservationTime == null || reservationArchiveRepository.deleteByReservationId(reservationId) == 0) {
+                throw new InvalidReservationIdException("존재하지 않는 예약 ID입니다.");
+            }
+        }
 
-        reservationRepository.delete(reservationEntity);
+        publishEvent(ReservationChangedEvent.Type.DELETED, reservationId, reservationTime);
     }
 
-    public List<Reservation> findReservationsByRoomForNextWeek(Long roomId) {
+    /**
+     * 방 목록과 시간 범위에 걸친 예약을 모두 삭제한다.
+     * 삭제할 예약은 메모리 인덱스가 아니라 DB 에서 잠그고 읽으므로, 인덱스가 없거나 그 사이에 생긴 예약도 이벤트가 빠지지 않는다.
+     * @return 삭제된 예약 수
+     */
+    @Transactional
+    public int deleteReservations(Set<Long> roomIds, LocalDateTime startTime, LocalDateTime endTime) {
+
+        if (!startTime.isBefore(endTime)) {
+            throw new InvalidReservationTimeException("예약 시간이 올바르지 않습니다.");
+        }
+
+        List<ReservationEntity> reservationEntities = reservationRepository.findOverlappingForUpdate(
+                roomIds, startTime.minus(MAX_RESERVATION_LENGTH), startTime, endTime);
+        if (reservationEntities.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> reservationIds = reservationEntities.stream()
+                .map(ReservationEntity::getId)
+                .toList();
+        int deleted = reservationRepository.deleteByIds(reservationIds);
+
+        for (ReservationEntity reservationEntity : reservationEntities) {
+            publishEvent(ReservationChangedEvent.Type.DELETED, reservationEntity);
+        }
+
+        return deleted;
+    }
 
-        if (!roomRepository.existsById(roomId)) {
+    /**
+     * 공개 예약 현황. entity 대신 필요한 컬럼만 projection 으로 읽는다.
+     */
+    @Transactional(readOnly = true)
+    public List<ReservationView> findReservationsByRoomForNextWeek(Long roomId) {
+
+        if (roomCatalog.getRoom(roomId) == null) {
             throw new RoomNotFoundException("존재하지 않는 방 ID 입니다.");
         }
 
         LocalDateTime start = LocalDate.now().atStartOfDay();
         LocalDateTime end = start.plusDays(7);
 
-        return reservationRepository.findReservationsByRoomAndDateRange(roomId, start, end)
-                .stream()
-                .map(ReservationEntity::toReservation)
+        return reservationRepository.findReservationsByRoomAndDateRange(roomId, start, end);
+    }
+
+    /**
+     * 여러 방의 예약을 쿼리 한 번으로 조회해 방별로 묶는다. 기간과 겹치는 예약을 모두 포함한다.
+     * 존재하지 않는 방은 별도로 확인하지 않고 빈 목록으로 응답한다.
+     * @return 요청한 방 순서를 유지한 방 ID별 예약 목록
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<ReservationView>> findReservationsByRooms(Collection<Long> roomIds, LocalDateTime from, LocalDateTime to) {
+
+        if (roomIds.isEmpty() || roomIds.size() > scheduleMaxRooms) {
+            throw new InvalidQueryRangeException("조회할 방 수가 올바르지 않습니다.");
+        }
+
+        if (!from.isBefore(to) || Duration.between(from, to).compareTo(scheduleMaxRange) > 0) {
+            throw new InvalidQueryRangeException("조회 기간이 올바르지 않습니다.");
+        }
+
+        Map<Long, List<ReservationView>> reservationsByRoom = new LinkedHashMap<>();
+        for (Long roomId : roomIds) {
+            reservationsByRoom.put(roomId, new ArrayList<>());
+        }
+
+        for (ReservationView reservationView : reservationRepository.findReservationsByRoomsAndDateRange(
+                roomIds, from.minus(MAX_RESERVATION_LENGTH), from, to)) {
+            reservationsByRoom.get(reservationView.roomId()).add(reservationView);
+        }
+
+        return reservationsByRoom;
+    }
+
+    /**
+     * 조건에 맞는 방에서 duration 만큼 연속으로 비어 있는 시간을 찾는다.
+     * 방 목록은 RoomCatalog 스냅샷에서, 빈 시간은 슬롯 점유 비트맵에서 찾으므로 DB를 조회하지 않는다.
+     * 비트맵은 예약과 조금이라도 겹치는 슬롯을 점유로 보므로 찾은 시간은 확실히 비어 있다.
+     * @param equipment 모두 포함한 방만 찾는다. 대소문자는 구분하지 않는다.
+     * @return 시작 시간이 이른 순, 같으면 인원에 더 딱 맞는 방 순으로 최대 limit 개
+     */
+    public List<FreeSlot> findFreeSlots(Duration duration, LocalDateTime from, LocalDateTime to,
+                                        int capacity, Collection<String> equipment, int limit) {
+
+        if (!reservationOccupancyIndex.isLoaded()) {
+            throw new IndexNotReadyException("예약 현황을 불러오는 중입니다.");
+        }
+
+        // 예약 가능한 기간으로 좁힌다.
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime windowStart = from.isBefore(now) ? now : from;
+        LocalDateTime windowEnd = to.isAfter(now.plusDays(7)) ? now.plusDays(7) : to;
+
+        if (duration.isNegative() || duration.isZero() || !windowStart.isBefore(windowEnd)) {
+            throw new InvalidQueryRangeException("조회 범위가 올바르지 않습니다.");
+        }
+
+        long fromSlot = reservationOccupancyIndex.toSlotCeil(windowStart);
+        long toSlot = reservationOccupancyIndex.toSlot(windowEnd);
+        int length = (int) ((duration.toMinutes() + slotMinutes - 1) / slotMinutes);
+
+        List<String> requiredEquipment = equipment.stream()
+                .map(item -> item.trim().toLowerCase(Locale.ROOT))
+                .filter(item -> !item.isEmpty())
+                .toList();
+
+        List<FreeSlot> freeSlots = new ArrayList<>();
+        for (Room room : roomCatalog.getRooms()) {
+
+            if (!room.isAvailable() || room.getCapacity() < capacity || !hasEquipment(room, requiredEquipment)) {
+                continue;
+            }
+
+            long position = fromSlot;
+            for (int i = 0; i < candidatesPerRoom; i++) {
+
+                long start = reservationOccupancyIndex.findFirstFreeRun(room.getId(), position, toSlot, length);
+                if (start < 0) {
+                    break;
+                }
+
+                LocalDateTime startTime = reservationOccupancyIndex.toTime(start);
+                freeSlots.add(FreeSlot.builder()
+                        .roomId(room.getId())
+                        .roomName(room.getName())
+                        .location(room.getLocation())
+                        .capacity(room.getCapacity())
+                        .startTime(startTime)
+                        .endTime(startTime.plus(duration))
+                        .build());
+
+                // 같은 방에서는 겹치지 않는 다음 후보를 찾는다.
+                position = start + length;
+            }
+        }
+
+        return freeSlots.stream()
+                .sorted(Comparator.comparing(FreeSlot::getStartTime)
+                        .thenComparing(FreeSlot::getCapacity)
+                        .thenComparing(FreeSlot::getRoomId))
+                .limit(limit)
                 .collect(Collectors.toList());
     }
 
-    public List<ReservationEntity> findAllReservations() {
+    /**
+     * 관리자 예약 목록의 한 페이지. cursor 다음부터 (startTime, id) 순서로 최대 size 개를 조회한다.
+     * 보관된 예약도 같은 조건으로 최대 size 개 읽어 합치므로, 예약이 어느 테이블에 있는지와 관계없이 순서가 이어진다.
+     * Room까지 한 번에 보내기 위해 entity를 그대로 반환. domain은 room_id만 갖고 있다.
+     * @param cursor null 이면 처음부터
+     */
+    @Transactional(readOnly = true)
+    public List<ReservationEntity> findReservations(ReservationFilter filter, AdminReservationCursor cursor, int size) {
+
+        LocalDateTime from = filter.getFrom() == null ? FILTER_MIN_TIME : filter.getFrom();
+        LocalDateTime to = filter.getTo() == null ? FILTER_MAX_TIME : filter.getTo();
+
+        // 커서가 없거나 기간 시작보다 앞이면 기간 시작부터. ID는 1부터 발급되므로 0이면 같은 시간의 예약을 모두 포함한다.
+        LocalDateTime cursorStartTime = from;
+        Long cursorId = 0L;
+        if (cursor != null && !cursor.startTime().isBefore(from)) {
+            cursorStartTime = cursor.startTime();
+            cursorId = cursor.id();
+        }
+
+        List<ReservationEntity> reservationEntities = reservationRepository.findAdminReservationsAfter(
+                filter.getRoomId(),
+                cursorStartTime,
+                to,
+                filter.getStudentId(),
+                filter.getStudentName(),
+                cursorStartTime,
+                cursorId,
+                Limit.of(size));
+
+        List<ReservationArchiveEntity> archiveEntities = reservationArchiveRepository.findAdminReservationsAfter(
+                filter.getRoomId(),
+                cursorStartTime,
+                to,
+                filter.getStudentId(),
+                filter.getStudentName(),
+                cursorStartTime,
+                cursorId,
+                Limit.of(size));
+
+        if (archiveEntities.isEmpty()) {
+            return reservationEntities;
+        }
+
+        List<ReservationEntity> page = new ArrayList<>(size);
+        Iterator<ReservationEntity> merged = merge(reservationEntities.iterator(), archiveEntities.stream()
+                .map(ReservationArchiveEntity::toReservationEntity)
+                .iterator());
+        while (merged.hasNext() && page.size() < size) {
+            page.add(merged.next());
+        }
+        return page;
+    }
+
+    /**
+     * 조건에 맞는 예약을 보관된 예약까지 합쳐 (startTime, id) 순서로 하나씩 넘긴다.
+     * 넘긴 entity 는 바로 영속성 컨텍스트에서 분리하므로 예약 수와 관계없이 메모리 사용량이 일정하다.
+     */
+    @Transactional(readOnly = true)
+    public void forEachReservation(ReservationFilter filter, Consumer<ReservationEntity> consumer) {
 
-        // Room까지 한 번에 보내기 위해 entity를 그대로 반환. domain은 room_id만 갖고 있다.
-        return reservationRepository.findAllWithRoom();
+        LocalDateTime from = filter.getFrom() == null ? FILTER_MIN_TIME : filter.getFrom();
+        LocalDateTime to = filter.getTo() == null ? FILTER_MAX_TIME : filter.getTo();
+
+        try (Stream<ReservationEntity> reservationEntities = reservationRepository.streamAdminReservations(
+                filter.getRoomId(), from, to, filter.getStudentId(), filter.getStudentName());
+             Stream<ReservationArchiveEntity> archiveEntities = reservationArchiveRepository.streamAdminReservations(
+                filter.getRoomId(), from, to, filter.getStudentId(), filter.getStudentName())) {
+
+            Iterator<ReservationEntity> merged = merge(reservationEntities.iterator(), archiveEntities
+                    .map(archiveEntity -> {
+                        entityManager.detach(archiveEntity);
+                        return archiveEntity.toReservationEntity();
+                    })
+                    .iterator());
+
+            while (merged.hasNext()) {
+                ReservationEntity reservationEntity = merged.next();
+                consumer.accept(reservationEntity);
+                if (entityManager.contains(reservationEntity)) {
+                    entityManager.detach(reservationEntity);
+                }
+            }
+        }
+    }
+
+    /**
+     * 방의 예약을 시작 시간 순으로 하나씩 넘긴다. projection 이라 영속성 컨텍스트에 쌓이지 않는다.
+     */
+    @Transactional(readOnly = true)
+    public void forEachReservationByRoom(Long roomId, LocalDateTime from, LocalDateTime to, Consumer<ReservationView> consumer) {
+
+        try (Stream<ReservationView> reservationViews = reservationRepository.streamReservationsByRoom(roomId, from, to)) {
+            reservationViews.forEach(consumer);
+        }
+    }
+
+    /**
+     * 없는 ID 는 결과에서 빠진다.
+     */
+    @Transactional(readOnly = true)
+    public List<ReservationView> findReservationsByIds(Collection<Long> reservationIds) {
+
+        if (reservationIds.isEmpty()) {
+            return List.of();
+        }
+
+        return reservationRepository.findReservationViewsByIds(reservationIds);
     }
 
     public boolean isReservationTimeAvailable(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
 
-        return reservationRepository.findConflictingReservations(roomId, startTime, endTime).isEmpty();
+        // 비트맵에서 모든 슬롯이 비어 있으면 구간 인덱스를 볼 필요가 없다.
+        if (reservationOccupancyIndex.isFree(roomId, startTime, endTime)) {
+            return true;
+        }
+
+        if (reservationIntervalIndex.isLoaded()) {
+            return !reservationIntervalIndex.hasConflict(roomId, startTime, endTime);
+        }
+
+        return reservationRepository.findConflictingReservations(
+                roomId, startTime.minus(MAX_RESERVATION_LENGTH), startTime, endTime).isEmpty();
+    }
+
+    /**
+     * ADMIN_ORDER 로 정렬된 두 목록을 순서대로 합친다. 각 목록에서 한 건씩만 미리 읽는다.
+     */
+    private static Iterator<ReservationEntity> merge(Iterator<ReservationEntity> first, Iterator<ReservationEntity> second) {
+
+        return new Iterator<>() {
+
+            private ReservationEntity nextFirst = first.hasNext() ? first.next() : null;
+            private ReservationEntity nextSecond = second.hasNext() ? second.next() : null;
+
+            @Override
+            public boolean hasNext() {
+
+                return nextFirst != null || nextSecond != null;
+            }
+
+            @Override
+            public ReservationEntity next() {
+
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                ReservationEntity result;
+                if (nextSecond == null || (nextFirst != null && ADMIN_ORDER.compare(nextFirst, nextSecond) <= 0)) {
+                    result = nextFirst;
+                    nextFirst = first.hasNext() ? first.next() : null;
+                } else {
+                    result = nextSecond;
+                    nextSecond = second.hasNext() ? second.next() : null;
+                }
+                return result;
+            }
+        };
+    }
+
+    private void validateReservationTime(Reservation reservation, LocalDateTime now) {
+
+        LocalDateTime maxReservationTime = now.plusDays(7);
+        LocalDateTime minAllowedStartTime = now.minusHours(1);
+
+        if (reservation.getEndTime().isBefore(reservation.getStartTime()) ||
+                reservation.getStartTime().isBefore(minAllowedStartTime) ||
+                reservation.getEndTime().isBefore(now) ||
+                reservation.getStartTime().isAfter(maxReservationTime) ||
+                reservation.getEndTime().isAfter(maxReservationTime)) {
+
+            throw new InvalidReservationTimeException("예약 시간이 올바르지 않습니다.");
+        }
+
+        // 슬롯 경계에 맞지 않으면 이어지는 두 예약(10:05~10:10, 10:10~10:20)이 같은 슬롯을 차지해 중복으로 거절된다.
+        if (!isOnSlotBoundary(reservation.getStartTime()) || !isOnSlotBoundary(reservation.getEndTime())) {
+            throw new InvalidReservationTimeException("예약 시간이 올바르지 않습니다.");
+        }
+    }
+
+    private boolean isOnSlotBoundary(LocalDateTime time) {
+
+        return time.getSecond() == 0 && time.getNano() == 0 && time.getMinute() % slotMinutes == 0;
+    }
+
+    private boolean hasEquipment(Room room, List<String> requiredEquipment) {
+
+        if (requiredEquipment.isEmpty()) {
+            return true;
+        }
+
+        if (room.getEquipment() == null) {
+            return false;
+        }
+
+        String roomEquipment = room.getEquipment().toLowerCase(Locale.ROOT);
+        for (String item : requiredEquipment) {
+            if (!roomEquipment.contains(item)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void checkOverlapWithinBatch(List<Reservation> reservations) {
+
+        if (reservations.size() < 2) {
+            return;
+        }
+
+        List<Reservation> sorted = reservations.stream()
+                .sorted(Comparator.comparing(Reservation::getRoomId)
+                        .thenComparing(Reservation::getStartTime))
+                .toList();
+
+        for (int i = 1; i < sorted.size(); i++) {
+
+            Reservation previous = sorted.get(i - 1);
+            Reservation current = sorted.get(i);
+
+            if (previous.getRoomId().equals(current.getRoomId()) &&
+                    current.getStartTime().isBefore(previous.getEndTime())) {
+                throw new DuplicateReservationException("이미 예약된 시간입니다.");
+            }
+        }
+    }
+
+    /**
+     * 예약이 걸친 슬롯을 같은 트랜잭션에서 한 번에 INSERT 한다.
+     * 다른 예약이 이미 가진 슬롯이 있으면 유니크 제약 위반으로 실패하므로 동시 요청도 중복 예약되지 않는다.
+     */
+    private void claimSlots(List<ReservationEntity> reservationEntities) {
+
+        List<ReservationSlotEntity> slots = new ArrayList<>();
+        for (ReservationEntity reservationEntity : reservationEntities) {
+
+            Long roomId = reservationEntity.getRoom().getId();
+
+            // validateReservationTime 에서 슬롯 경계에 맞는 시간만 받는다.
+            LocalDateTime slotStart = reservationEntity.getStartTime();
+            while (slotStart.isBefore(reservationEntity.getEndTime())) {
+                slots.add(ReservationSlotEntity.builder()
+                        .id(new ReservationSlotEntity.SlotId(roomId, slotStart))
+                        .reservation(reservationEntity)
+                        .build());
+                slotStart = slotStart.plusMinutes(slotMinutes);
+            }
+        }
+
+        try {
+            reservationSlotRepository.saveAllAndFlush(slots);
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateReservationException("이미 예약된 시간입니다.");
+        }
+    }
+
+    /**
+     * 끝난 지 오래되었거나 인덱스가 적재되지 않은 예약은 인덱스에 없으므로 PK 로 읽는다.
+     * @return reservation 에 없으면 null
+     */
+    private ReservationTimeView findReservationTime(Long reservationId) {
+
+        ReservationIntervalIndex.Interval interval = reservationIntervalIndex.get(reservationId);
+        if (interval != null) {
+            return new ReservationTimeView(interval.roomId(), interval.startTime(), interval.endTime());
+        }
+
+        return reservationRepository.findTimeById(reservationId).orElse(null);
+    }
+
+    private void publishEvent(ReservationChangedEvent.Type type, Long reservationId, ReservationTimeView reservationTime) {
+
+        eventPublisher.publishEvent(new ReservationChangedEvent(
+                type,
+                reservationId,
+                reservationTime.roomId(),
+                reservationTime.startTime(),
+                reservationTime.endTime()));
+    }
+
+    private void publishEvent(ReservationChangedEvent.Type type, ReservationEntity reservationEntity) {
+
+        eventPublisher.publishEvent(new ReservationChangedEvent(
+                type,
+                reservationEntity.getId(),
+                reservationEntity.getRoom().getId(),
+                reservationEntity.getStartTime(),
+                reservationEntity.getEndTime()));
     }
 }
@@ -1,10 +1,13 @@
 package com.alstjrzzz.srr.service;
 
+import com.alstjrzzz.srr.cache.RoomCatalog;
 import com.alstjrzzz.srr.domain.Room;
 import com.alstjrzzz.srr.entity.RoomEntity;
+import com.alstjrzzz.srr.event.RoomChangedEvent;
 import com.alstjrzzz.srr.exception.RoomNotFoundException;
 import com.alstjrzzz.srr.repository.RoomRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -16,7 +19,9 @@ import java.util.List;
 public class RoomService {
 
     private final RoomRepository roomRepository;
+    private final RoomCatalog roomCatalog;
     private final S3Service s3Service;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void createRoom(Room room, List<MultipartFile> images) {
@@ -40,6 +45,8 @@ public class RoomService {
         List<String> urlList = s3Service.uploadFiles(images, path);
 
         roomEntity.updateImages(urlList);
+
+        eventPublisher.publishEvent(new RoomChangedEvent(RoomChangedEvent.Type.CREATED, roomEntity.getId()));
     }
 
     @Transactional
@@ -61,6 +68,8 @@ public class RoomService {
 
         //List<String> urlList = s3Service.uploadFiles(images, prefix);
         //roomEntity.updateImages(urlList);
+
+        eventPublisher.publishEvent(new RoomChangedEvent(RoomChangedEvent.Type.UPDATED, roomEntity.getId()));
     }
 
     @Transactional
@@ -73,12 +82,28 @@ public class RoomService {
         //s3Service.deleteFolder(prefix);
 
         roomRepository.delete(roomEntity);
+
+        eventPublisher.publishEvent(new RoomChangedEvent(RoomChangedEvent.Type.DELETED, roomId));
+    }
+
+    public void checkRoomExists(Long roomId) {
+
+        if (roomCatalog.getRoom(roomId) == null) {
+            throw new RoomNotFoundException("존재하지 않는 방 ID 입니다.");
+        }
+    }
+
+    public Room getRoom(Long roomId) {
+
+        Room room = roomCatalog.getRoom(roomId);
+        if (room == null) {
+            throw new RoomNotFoundException("존재하지 않는 방 ID 입니다.");
+        }
+        return room;
     }
 
     public List<Room> getAllRooms() {
 
-        return roomRepository.findAllWithImages().stream()
-                .map(RoomEntity::toRoom)
-                .toList();
+        return roomCatalog.getRooms();
     }
 }
@@ -0,0 +1,75 @@
+package com.alstjrzzz.srr.service;
+
+import com.alstjrzzz.srr.domain.RoomUsage;
+import com.alstjrzzz.srr.exception.InvalidQueryRangeException;
+import com.alstjrzzz.srr.repository.RoomUsageDailyRepository;
+import com.alstjrzzz.srr.repository.RoomUsageHourlyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 방 이용 통계 조회. 통계는 analytics/RoomUsageRollup 이 예약 변경 때마다 rollup 테이블에 쌓아 두므로 예약 테이블은 읽지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class RoomUsageService {
+
+    private final RoomUsageHourlyRepository roomUsageHourlyRepository;
+    private final RoomUsageDailyRepository roomUsageDailyRepository;
+
+    @Value("${reservation.usage.max-hourly-range}")
+    private Duration maxHourlyRange;
+
+    @Value("${reservation.usage.max-daily-range}")
+    private Duration maxDailyRange;
+
+    /**
+     * 구간 시작이 from 이상 to 미만인 통계. 일별 조회에서 from, to 는 날짜 단위로 맞춘다.
+     * @param roomId null 이면 모든 방
+     * @return 방 ID, 구간 시작 순. 예약이 없었던 구간은 빠진다.
+     */
+    @Transactional(readOnly = true)
+    public List<RoomUsage> findUsage(RoomUsage.Granularity granularity, Long roomId, LocalDateTime from, LocalDateTime to) {
+
+        Duration maxRange = granularity == RoomUsage.Granularity.HOUR ? maxHourlyRange : maxDailyRange;
+        if (!from.isBefore(to) || Duration.between(from, to).compareTo(maxRange) > 0) {
+            throw new InvalidQueryRangeException("조회 기간이 올바르지 않습니다.");
+        }
+
+        if (granularity == RoomUsage.Granularity.HOUR) {
+            return roomUsageHourlyRepository.findUsage(roomId, from, to)
+                    .stream()
+                    .map(usage -> RoomUsage.builder()
+                            .roomId(usage.getId().getRoomId())
+                            .start(usage.getId().getBucketStart())
+                            .bookedMinutes(usage.getBookedMinutes())
+                            .reservationCount(usage.getReservationCount())
+                            .cancellationCount(usage.getCancellationCount())
+                            .build())
+                    .collect(Collectors.toList());
+        }
+
+        // 0시가 아닌 to 는 그날까지 포함한다.
+        LocalDate toDate = to.toLocalTime().equals(LocalTime.MIDNIGHT) ? to.toLocalDate() : to.toLocalDate().plusDays(1);
+
+        return roomUsageDailyRepository.findUsage(roomId, from.toLocalDate(), toDate)
+                .stream()
+                .map(usage -> RoomUsage.builder()
+                        .roomId(usage.getId().getRoomId())
+                        .start(usage.getId().getUsageDate().atStartOfDay())
+                        .bookedMinutes(usage.getBookedMinutes())
+                        .reservationCount(usage.getReservationCount())
+                        .cancellationCount(usage.getCancellationCount())
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,244 @@
+package com.alstjrzzz.srr.stream;
+
+import com.alstjrzzz.srr.dto.reservation.ReservationStreamEventDTO;
+import com.alstjrzzz.srr.event.ReservationChangedEvent;
+import com.alstjrzzz.srr.event.RoomChangedEvent;
+import com.alstjrzzz.srr.exception.StreamUnavailableException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 방별 예약 변경을 SSE 구독자에게 전달한다.
+ * 연결마다 스레드를 두지 않고, 구독자별 제한된 버퍼에 쌓은 뒤 공용 executor 에서 필요할 때만 비운다.
+ * 버퍼가 가득 찬 느린 구독자는 연결을 끊는다. 클라이언트는 재연결 후 예약 현황을 다시 받으면 된다.
+ */
+@Component
+public class ReservationEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationEventBroadcaster.class);
+
+    private static final long RECONNECT_MILLIS = 3_000;
+
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor taskExecutor;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final int maxSubscribers;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    public ReservationEventBroadcaster(ObjectMapper objectMapper,
+                                       @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                       @Value("${reservation.stream.timeout}") Duration timeout,
+                                       @Value("${reservation.stream.buffer-size}") int bufferSize,
+                                       @Value("${reservation.stream.max-subscribers}") int maxSubscribers) {
+
+        this.objectMapper = objectMapper;
+        this.taskExecutor = taskExecutor;
+        this.timeoutMillis = timeout.toMillis();
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    /**
+     * 이벤트 이름과 직렬화된 데이터. data 가 null 이면 heartbeat 주석이다.
+     */
+    private record StreamEvent(String name, String data) {
+
+        private SseEmitter.SseEventBuilder toSseEvent() {
+
+            if (data == null) {
+                return SseEmitter.event().comment(name);
+            }
+            return SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private static final StreamEvent HEARTBEAT = new StreamEvent("heartbeat", null);
+
+    public SseEmitter subscribe(Long roomId) {
+
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new StreamUnavailableException("실시간 연결이 많아 잠시 후 다시 시도해주세요.");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(roomId, emitter);
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        subscribers.computeIfAbsent(roomId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        try {
+            emitter.send(SseEmitter.event().comment("connected").reconnectTime(RECONNECT_MILLIS));
+        } catch (IOException e) {
+            remove(subscriber);
+        }
+
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+
+        if (event.getRoomId() == null) {
+            return;
+        }
+
+        Set<Subscriber> roomSubscribers = subscribers.get(event.getRoomId());
+        if (roomSubscribers == null || roomSubscribers.isEmpty()) {
+            return;
+        }
+
+        ReservationStreamEventDTO streamEventDTO = ReservationStreamEventDTO.builder()
+                .id(event.getReservationId())
+                .startTime(event.getStartTime())
+                .endTime(event.getEndTime())
+                .build();
+
+        // 구독자 수와 관계없이 한 번만 직렬화한다.
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(streamEventDTO);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize reservation stream event: {}", event.getReservationId(), e);
+            return;
+        }
+
+        StreamEvent streamEvent = new StreamEvent(event.getType().name().toLowerCase(Locale.ROOT), data);
+        for (Subscriber subscriber : roomSubscribers) {
+            subscriber.offer(streamEvent);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onRoomChanged(RoomChangedEvent event) {
+
+        if (event.getType() != RoomChangedEvent.Type.DELETED) {
+            return;
+        }
+
+        Set<Subscriber> roomSubscribers = subscribers.remove(event.getRoomId());
+        if (roomSubscribers != null) {
+            roomSubscribers.forEach(Subscriber::close);
+        }
+    }
+
+    /**
+     * 프록시가 유휴 연결을 끊지 않도록 주기적으로 주석을 보내고, 끊어진 연결을 정리한다.
+     */
+    @Scheduled(fixedDelayString = "${reservation.stream.heartbeat-interval-ms}")
+    public void heartbeat() {
+
+        for (Set<Subscriber> roomSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : roomSubscribers) {
+                subscriber.offer(HEARTBEAT);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+
+        return subscriberCount.get();
+    }
+
+    private void remove(Subscriber subscriber) {
+
+        if (!subscriber.removed.compareAndSet(false, true)) {
+            return;
+        }
+
+        subscriberCount.decrementAndGet();
+
+        Set<Subscriber> roomSubscribers = subscribers.get(subscriber.roomId);
+        if (roomSubscribers != null) {
+            roomSubscribers.remove(subscriber);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final Long roomId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamEvent> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+
+        private Subscriber(Long roomId, SseEmitter emitter) {
+            this.roomId = roomId;
+            this.emitter = emitter;
+        }
+
+        private void offer(StreamEvent streamEvent) {
+
+            if (removed.get()) {
+                return;
+            }
+
+            if (!buffer.offer(streamEvent)) {
+                close();
+                return;
+            }
+
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+
+            if (draining.compareAndSet(false, true)) {
+                taskExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+
+            try {
+                StreamEvent streamEvent;
+                while ((streamEvent = buffer.poll()) != null) {
+                    emitter.send(streamEvent.toSseEvent());
+                }
+            } catch (IOException | IllegalStateException e) {
+                remove(this);
+                return;
+            } finally {
+                draining.set(false);
+            }
+
+            // poll 과 draining 해제 사이에 들어온 이벤트
+            if (!buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void close() {
+
+            remove(this);
+            emitter.complete();
+        }
+    }
+}
@@ -3,24 +3,42 @@ package com.alstjrzzz.srr.utils;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
-public class ExcelUtil {
+public class ExcelUtil implements Closeable {
 
-    private final XSSFWorkbook workbook;
+    private final Workbook workbook;
     private final Map<String, Sheet> sheets;
 
     public ExcelUtil() {
-        workbook = new XSSFWorkbook();
+        this(new XSSFWorkbook());
+    }
+
+    private ExcelUtil(Workbook workbook) {
+        this.workbook = workbook;
         sheets = new ConcurrentHashMap<>();
     }
 
+    /**
+     * 시트마다 최근 windowSize 행만 메모리에 두고, 나머지 행은 압축된 임시 파일로 내보내는 워크북.
+     * 행은 시트마다 순서대로만 추가할 수 있다.
+     */
+    public static ExcelUtil streaming(int windowSize) {
+
+        SXSSFWorkbook workbook = new SXSSFWorkbook(windowSize);
+        workbook.setCompressTempFiles(true);
+        return new ExcelUtil(workbook);
+    }
+
     public void createSheet(String sheetName, List<String> headers) {
 
         Sheet sheet = workbook.createSheet(sheetName);
@@ -78,4 +96,13 @@ public class ExcelUtil {
 
         workbook.write(os);
     }
+
+    /**
+     * 스트리밍 워크북은 닫을 때 임시 파일도 지운다.
+     */
+    @Override
+    public void close() throws IOException {
+
+        workbook.close();
+    }
 }
@@ -0,0 +1,39 @@
+-- ddl-auto 로 만들어져 운영 중이던 최초 스키마.
+-- 이미 테이블이 있는 DB 는 baseline-on-migrate 로 이 버전을 기준점으로 잡고 V2 부터 적용한다.
+
+CREATE TABLE room
+(
+    room_id     BIGINT       NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(255) NOT NULL,
+    location    VARCHAR(255) NOT NULL,
+    capacity    INTEGER      NOT NULL,
+    equipment   VARCHAR(255),
+    description VARCHAR(255),
+    available   BIT          NOT NULL,
+    created_at  DATETIME(6)  NOT NULL,
+    updated_at  DATETIME(6),
+    PRIMARY KEY (room_id)
+);
+
+CREATE TABLE room_image
+(
+    room_id BIGINT NOT NULL,
+    images  VARCHAR(255),
+    CONSTRAINT fk_room_image_room FOREIGN KEY (room_id) REFERENCES room (room_id)
+);
+
+CREATE TABLE reservation
+(
+    reservation_id BIGINT       NOT NULL AUTO_INCREMENT,
+    room_id        BIGINT,
+    nickname       VARCHAR(255) NOT NULL,
+    student_name   VARCHAR(255) NOT NULL,
+    student_id     INTEGER      NOT NULL,
+    phone_number   VARCHAR(255) NOT NULL,
+    purpose        VARCHAR(255) NOT NULL,
+    start_time     DATETIME(6)  NOT NULL,
+    end_time       DATETIME(6)  NOT NULL,
+    created_at     DATETIME(6),
+    PRIMARY KEY (reservation_id),
+    CONSTRAINT fk_reservation_room FOREIGN KEY (room_id) REFERENCES room (room_id) ON DELETE CASCADE
+);
@@ -0,0 +1,38 @@
+-- 예약이 점유한 slot-minutes 단위 슬롯. (room_id, slot_start) PK 가 동시 요청의 중복 예약을 막는다.
+-- ddl-auto update 를 쓰던 개발 DB 에는 이미 있을 수 있다.
+-- 예약은 이 테이블에 슬롯을 먼저 잡으므로, 테이블을 만들면서 기존 예약의 슬롯도 같은 마이그레이션에서 채운다.
+
+CREATE TABLE IF NOT EXISTS reservation_slot
+(
+    room_id        BIGINT      NOT NULL,
+    slot_start     DATETIME(6) NOT NULL,
+    reservation_id BIGINT      NOT NULL,
+    PRIMARY KEY (room_id, slot_start),
+    CONSTRAINT fk_reservation_slot_reservation FOREIGN KEY (reservation_id) REFERENCES reservation (reservation_id) ON DELETE CASCADE
+);
+
+-- 슬롯 테이블이 생기기 전에 만들어진, 아직 끝나지 않은 예약의 슬롯을 채운다.
+-- 0 ~ 999 번째 슬롯(15분 기준 약 250시간)까지 펼치며, 예약 가능 기간(7일)보다 충분히 길다.
+-- 이전 방식에서 이미 겹쳐 들어간 예약이 있으면 먼저 들어간 슬롯을 남기고 건너뛴다.
+INSERT IGNORE INTO reservation_slot (room_id, slot_start, reservation_id)
+SELECT r.room_id,
+       TIMESTAMPADD(MINUTE, n.n * ${slot_minutes}, r.slot_base),
+       r.reservation_id
+FROM (SELECT reservation_id,
+             room_id,
+             end_time,
+             TIMESTAMPADD(MINUTE,
+                          FLOOR((HOUR(start_time) * 60 + MINUTE(start_time)) / ${slot_minutes}) * ${slot_minutes},
+                          CAST(CAST(start_time AS DATE) AS DATETIME)) AS slot_base
+      FROM reservation
+      WHERE room_id IS NOT NULL
+        AND end_time > CURRENT_TIMESTAMP
+        AND NOT EXISTS (SELECT 1 FROM reservation_slot s WHERE s.reservation_id = reservation.reservation_id)) r
+         CROSS JOIN (SELECT d1.n + d2.n * 10 + d3.n * 100 AS n
+                     FROM (SELECT 0 AS n UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+                           UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d1
+                              CROSS JOIN (SELECT 0 AS n UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+                                          UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d2
+                              CROSS JOIN (SELECT 0 AS n UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+                                          UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d3) n
+WHERE TIMESTAMPADD(MINUTE, n.n * ${slot_minutes}, r.slot_base) < r.end_time;
@@ -0,0 +1,30 @@
+-- 방 이용 통계 rollup. 예약 생성/취소/삭제가 같은 트랜잭션에서 증분으로 반영한다. (analytics/RoomUsageRollup)
+-- booked_minutes 는 구간과 겹치는 예약 시간(분), reservation_count 는 그 구간에 시작하는 남아 있는 예약 수,
+-- cancellation_count 는 그 구간에 시작하려던 예약 중 사용자가 취소한 수다. 관리자 삭제는 취소로 세지 않는다.
+
+CREATE TABLE room_usage_hourly
+(
+    room_id            BIGINT      NOT NULL,
+    bucket_start       DATETIME(6) NOT NULL,
+    booked_minutes     INTEGER     NOT NULL,
+    reservation_count  INTEGER     NOT NULL,
+    cancellation_count INTEGER     NOT NULL,
+    PRIMARY KEY (room_id, bucket_start),
+    CONSTRAINT fk_room_usage_hourly_room FOREIGN KEY (room_id) REFERENCES room (room_id) ON DELETE CASCADE
+);
+
+-- 방을 지정하지 않은 기간 조회
+CREATE INDEX idx_room_usage_hourly_bucket ON room_usage_hourly (bucket_start);
+
+CREATE TABLE room_usage_daily
+(
+    room_id            BIGINT  NOT NULL,
+    usage_date         DATE    NOT NULL,
+    booked_minutes     INTEGER NOT NULL,
+    reservation_count  INTEGER NOT NULL,
+    cancellation_count INTEGER NOT NULL,
+    PRIMARY KEY (room_id, usage_date),
+    CONSTRAINT fk_room_usage_daily_room FOREIGN KEY (room_id) REFERENCES room (room_id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_room_usage_daily_date ON room_usage_daily (usage_date);
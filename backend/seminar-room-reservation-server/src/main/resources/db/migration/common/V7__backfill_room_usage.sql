@@ -0,0 +1,33 @@
+-- rollup 테이블이 생기기 전의 예약으로 통계를 채운다. 취소된 예약은 남아 있지 않으므로 cancellation_count 는 0 이다.
+-- 예약을 시작 시각의 정시부터 0 ~ 999 시간까지 펼쳐 겹치는 분을 구한다. 예약 가능 기간(7일)보다 충분히 길다.
+
+INSERT INTO room_usage_hourly (room_id, bucket_start, booked_minutes, reservation_count, cancellation_count)
+SELECT h.room_id, h.bucket_start, SUM(h.booked_minutes), SUM(h.reservation_count), 0
+FROM (SELECT r.room_id,
+             TIMESTAMPADD(HOUR, n.n, r.hour_base) AS bucket_start,
+             TIMESTAMPDIFF(MINUTE,
+                           GREATEST(r.start_time, TIMESTAMPADD(HOUR, n.n, r.hour_base)),
+                           LEAST(r.end_time, TIMESTAMPADD(HOUR, n.n + 1, r.hour_base))) AS booked_minutes,
+             CASE WHEN n.n = 0 THEN 1 ELSE 0 END AS reservation_count
+      FROM (SELECT room_id,
+                   start_time,
+                   end_time,
+                   TIMESTAMPADD(HOUR, HOUR(start_time), CAST(CAST(start_time AS DATE) AS DATETIME)) AS hour_base
+            FROM reservation
+            WHERE room_id IS NOT NULL
+              AND end_time > start_time) r
+               CROSS JOIN (SELECT d1.n + d2.n * 10 + d3.n * 100 AS n
+                           FROM (SELECT 0 AS n UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+                                 UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d1
+                                    CROSS JOIN (SELECT 0 AS n UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+                                                UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d2
+                                    CROSS JOIN (SELECT 0 AS n UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+                                                UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d3) n
+      WHERE TIMESTAMPADD(HOUR, n.n, r.hour_base) < r.end_time) h
+GROUP BY h.room_id, h.bucket_start;
+
+-- 일별 통계는 시간별 통계를 날짜로 합친 것과 같다.
+INSERT INTO room_usage_daily (room_id, usage_date, booked_minutes, reservation_count, cancellation_count)
+SELECT room_id, CAST(bucket_start AS DATE), SUM(booked_minutes), SUM(reservation_count), 0
+FROM room_usage_hourly
+GROUP BY room_id, CAST(bucket_start AS DATE);
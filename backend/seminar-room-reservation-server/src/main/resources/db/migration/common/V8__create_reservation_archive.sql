@@ -0,0 +1,23 @@
+-- 종료된 지 reservation.archive.age 가 지난 예약을 옮겨 두는 테이블. (archive/ReservationArchiver)
+-- 예약 가능 여부 확인과 공개 조회는 reservation 만 읽으므로 이 테이블이 커져도 영향이 없다.
+-- 예약 ID 는 그대로 유지하고, 방이 삭제되면 reservation 과 같이 함께 삭제된다.
+
+CREATE TABLE reservation_archive
+(
+    reservation_id BIGINT       NOT NULL,
+    room_id        BIGINT,
+    nickname       VARCHAR(255) NOT NULL,
+    student_name   VARCHAR(255) NOT NULL,
+    student_id     INTEGER      NOT NULL,
+    phone_number   VARCHAR(255) NOT NULL,
+    purpose        VARCHAR(255) NOT NULL,
+    start_time     DATETIME(6)  NOT NULL,
+    end_time       DATETIME(6)  NOT NULL,
+    created_at     DATETIME(6),
+    archived_at    DATETIME(6)  NOT NULL,
+    PRIMARY KEY (reservation_id),
+    CONSTRAINT fk_reservation_archive_room FOREIGN KEY (room_id) REFERENCES room (room_id) ON DELETE CASCADE
+);
+
+-- 관리자 목록 keyset 조회: ORDER BY start_time, reservation_id
+CREATE INDEX idx_reservation_archive_start_time ON reservation_archive (start_time);
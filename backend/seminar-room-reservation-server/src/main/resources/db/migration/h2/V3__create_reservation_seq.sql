@@ -0,0 +1,3 @@
+-- 테스트용 H2 는 항상 빈 DB 에서 시작하므로 기존 ID 를 고려할 필요가 없다.
+
+CREATE SEQUENCE IF NOT EXISTS reservation_seq START WITH 1 INCREMENT BY 50;
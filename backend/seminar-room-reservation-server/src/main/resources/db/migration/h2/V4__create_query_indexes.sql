@@ -0,0 +1,10 @@
+-- 조회 쿼리별 인덱스. mysql/V4 와 같은 인덱스를 만든다.
+
+-- 방별 기간/충돌 조회와 일괄 삭제: room_id = ?(IN ...) AND start_time, end_time 범위
+CREATE INDEX IF NOT EXISTS idx_reservation_room_time ON reservation (room_id, start_time, end_time);
+
+-- 관리자 목록 keyset 조회: ORDER BY start_time, reservation_id (InnoDB 보조 인덱스는 PK 를 포함한다)
+CREATE INDEX IF NOT EXISTS idx_reservation_start_time ON reservation (start_time);
+
+-- 시작 시 구간 인덱스 적재: end_time > ?
+CREATE INDEX IF NOT EXISTS idx_reservation_end_time ON reservation (end_time);
@@ -0,0 +1,16 @@
+-- MySQL 에는 시퀀스가 없으므로 Hibernate 는 next_val 한 행짜리 테이블로 흉내 낸다.
+-- pooled optimizer 는 읽은 next_val 을 묶음의 끝으로 보고 (next_val - 49) ~ next_val 을 발급하므로,
+-- next_val 을 MAX(reservation_id) + 1 로 두면 기존 ID 와 겹친다. 첫 묶음이 MAX + 2 부터 시작하도록 MAX + 51 로 둔다.
+
+CREATE TABLE IF NOT EXISTS reservation_seq
+(
+    next_val BIGINT
+);
+
+SET @next_val = GREATEST(
+        COALESCE((SELECT MAX(next_val) FROM reservation_seq), 1),
+        COALESCE((SELECT MAX(reservation_id) FROM reservation), 0) + 51);
+
+DELETE FROM reservation_seq;
+
+INSERT INTO reservation_seq (next_val) VALUES (@next_val);
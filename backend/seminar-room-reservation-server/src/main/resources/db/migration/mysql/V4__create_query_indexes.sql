@@ -0,0 +1,26 @@
+-- 조회 쿼리별 인덱스. MySQL 8 은 CREATE INDEX IF NOT EXISTS 가 없으므로
+-- ddl-auto update 로 같은 이름의 인덱스가 이미 만들어진 개발 DB 를 위해 있을 때는 건너뛴다.
+
+-- 방별 기간/충돌 조회와 일괄 삭제: room_id = ?(IN ...) AND start_time, end_time 범위
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_reservation_room_time ON reservation (room_id, start_time, end_time)', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'reservation' AND index_name = 'idx_reservation_room_time');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 관리자 목록 keyset 조회: ORDER BY start_time, reservation_id (InnoDB 보조 인덱스는 PK 를 포함한다)
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_reservation_start_time ON reservation (start_time)', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'reservation' AND index_name = 'idx_reservation_start_time');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 시작 시 구간 인덱스 적재: end_time > ?
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_reservation_end_time ON reservation (end_time)', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'reservation' AND index_name = 'idx_reservation_end_time');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,76 @@
+package com.alstjrzzz.srr.admission;
+
+import com.alstjrzzz.srr.exception.WaitingRoomFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReservationAdmissionQueueTest {
+
+    @Test
+    void rejectsImmediatelyWhenQueueIsFull() throws Exception {
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReservationAdmissionQueue queue = new ReservationAdmissionQueue(meterRegistry, 1, 1, 1, Duration.ofSeconds(5));
+
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            Future<?> first = executor.submit(() -> queue.admit(1L, () -> {
+                running.countDown();
+                await(release);
+                return null;
+            }));
+            running.await();
+
+            // 두 번째 요청은 대기열의 유일한 자리를 차지한다.
+            Future<?> second = executor.submit(() -> queue.admit(1L, () -> null));
+            while (meterRegistry.get("reservation.admission.queue.depth").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> queue.admit(1L, () -> null))
+                    .isInstanceOfSatisfying(WaitingRoomFullException.class, e -> {
+                        assertThat(e.getPosition()).isEqualTo(2);
+                        assertThat(e.getRetryAfterSeconds()).isPositive();
+                    });
+            assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(1));
+
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(meterRegistry.get("reservation.admission.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsAfterMaxWait() {
+
+        ReservationAdmissionQueue queue = new ReservationAdmissionQueue(new SimpleMeterRegistry(), 1, 1, 10, Duration.ofMillis(50));
+
+        assertThatThrownBy(() -> queue.admit(1L, () -> queue.admit(2L, () -> null)))
+                .isInstanceOf(WaitingRoomFullException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
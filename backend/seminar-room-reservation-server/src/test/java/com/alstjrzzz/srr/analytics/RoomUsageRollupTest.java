@@ -0,0 +1,143 @@
+package com.alstjrzzz.srr.analytics;
+
+import com.alstjrzzz.srr.domain.Reservation;
+import com.alstjrzzz.srr.domain.RoomUsage;
+import com.alstjrzzz.srr.dto.reservation.CancelReservationRequestDTO;
+import com.alstjrzzz.srr.index.ReservationIntervalIndex;
+import com.alstjrzzz.srr.repository.ReservationRepository;
+import com.alstjrzzz.srr.service.ReservationService;
+import com.alstjrzzz.srr.service.RoomUsageService;
+import com.alstjrzzz.srr.support.ReservationFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(ReservationFixture.class)
+class RoomUsageRollupTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private RoomUsageService roomUsageService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationIntervalIndex reservationIntervalIndex;
+
+    @Autowired
+    private ReservationFixture fixture;
+
+    private Long roomId;
+    private LocalDateTime tomorrow;
+
+    @BeforeEach
+    void setUp() {
+
+        roomId = fixture.createRoom().getId();
+
+        tomorrow = LocalDate.now().plusDays(1).atStartOfDay();
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        fixture.cleanUp();
+    }
+
+    @Test
+    void splitsReservationIntoHourlyAndDailyUsage() {
+
+        reservationService.reservations(List.of(
+                reservation(tomorrow.plusHours(9).plusMinutes(30), tomorrow.plusHours(11).plusMinutes(15)),
+                reservation(tomorrow.plusHours(13), tomorrow.plusHours(14))));
+
+        assertThat(hourly())
+                .extracting(RoomUsage::getStart, RoomUsage::getBookedMinutes, RoomUsage::getReservationCount)
+                .containsExactly(
+                        tuple(tomorrow.plusHours(9), 30, 1),
+                        tuple(tomorrow.plusHours(10), 60, 0),
+                        tuple(tomorrow.plusHours(11), 15, 0),
+                        tuple(tomorrow.plusHours(13), 60, 1));
+
+        assertThat(daily())
+                .extracting(RoomUsage::getStart, RoomUsage::getBookedMinutes, RoomUsage::getReservationCount)
+                .containsExactly(tuple(tomorrow, 165, 2));
+    }
+
+    @Test
+    void cancellationRemovesBookingAndCountsCancellation() {
+
+        reservationService.reservations(List.of(
+                reservation(tomorrow.plusHours(9), tomorrow.plusHours(10)),
+                reservation(tomorrow.plusHours(10), tomorrow.plusHours(11))));
+
+        List<Long> reservationIds = reservationRepository.findAll().stream()
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .map(reservationEntity -> reservationEntity.getId())
+                .toList();
+
+        reservationService.cancelReservation(cancelRequest(reservationIds.get(0)));
+        // 관리자 삭제는 취소로 세지 않는다.
+        reservationService.deleteReservation(reservationIds.get(1));
+
+        assertThat(daily())
+                .extracting(RoomUsage::getBookedMinutes, RoomUsage::getReservationCount, RoomUsage::getCancellationCount)
+                .containsExactly(tuple(0, 0, 1));
+    }
+
+    @Test
+    void cancellationOutsideIndexStillRemovesBooking() {
+
+        reservationService.reservation(reservation(tomorrow.plusHours(9), tomorrow.plusHours(10)));
+        Long reservationId = reservationRepository.findAll().get(0).getId();
+
+        // 인덱스에 없는 예약도 DB 에서 방과 시간을 읽어 통계에서 뺀다.
+        reservationIntervalIndex.remove(reservationId);
+        reservationService.cancelReservation(cancelRequest(reservationId));
+
+        assertThat(daily())
+                .extracting(RoomUsage::getBookedMinutes, RoomUsage::getReservationCount, RoomUsage::getCancellationCount)
+                .containsExactly(tuple(0, 0, 1));
+    }
+
+    private List<RoomUsage> hourly() {
+
+        return roomUsageService.findUsage(RoomUsage.Granularity.HOUR, roomId, tomorrow, tomorrow.plusDays(1));
+    }
+
+    private List<RoomUsage> daily() {
+
+        return roomUsageService.findUsage(RoomUsage.Granularity.DAY, roomId, tomorrow, tomorrow.plusDays(1));
+    }
+
+    private CancelReservationRequestDTO cancelRequest(Long reservationId) {
+
+        CancelReservationRequestDTO requestDTO = new CancelReservationRequestDTO();
+        ReflectionTestUtils.setField(requestDTO, "reservationId", reservationId);
+        ReflectionTestUtils.setField(requestDTO, "studentName", ReservationFixture.STUDENT_NAME);
+        ReflectionTestUtils.setField(requestDTO, "studentId", ReservationFixture.STUDENT_ID);
+        return requestDTO;
+    }
+
+    private Reservation reservation(LocalDateTime startTime, LocalDateTime endTime) {
+
+        return fixture.reservation(roomId, startTime, endTime);
+    }
+}
@@ -0,0 +1,173 @@
+package com.alstjrzzz.srr.archive;
+
+import com.alstjrzzz.srr.domain.ReservationFilter;
+import com.alstjrzzz.srr.dto.admin.AdminReservationCursor;
+import com.alstjrzzz.srr.entity.ReservationEntity;
+import com.alstjrzzz.srr.entity.RoomEntity;
+import com.alstjrzzz.srr.exception.InvalidReservationIdException;
+import com.alstjrzzz.srr.repository.ReservationArchiveRepository;
+import com.alstjrzzz.srr.repository.ReservationRepository;
+import com.alstjrzzz.srr.service.ReservationArchiveService;
+import com.alstjrzzz.srr.service.ReservationService;
+import com.alstjrzzz.srr.support.ReservationFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(ReservationFixture.class)
+class ReservationArchiverTest {
+
+    @Autowired
+    private ReservationArchiveService reservationArchiveService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationArchiveRepository reservationArchiveRepository;
+
+    @Autowired
+    private ReservationFixture fixture;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    private RoomEntity roomEntity;
+    private LocalDateTime longAgo;
+
+    @BeforeEach
+    void setUp() {
+
+        roomEntity = fixture.createRoom();
+
+        longAgo = LocalDate.now().minusDays(100).atStartOfDay();
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        fixture.cleanUp();
+    }
+
+    @Test
+    void scheduledTasksRunWhileArchiveIsRunning() throws InterruptedException {
+
+        // 보관 작업이 스케줄러 스레드를 잡고 있는 동안에도 heartbeat 같은 다른 작업이 실행되어야 한다.
+        CountDownLatch archiving = new CountDownLatch(1);
+        CountDownLatch heartbeat = new CountDownLatch(1);
+        taskScheduler.schedule(() -> {
+            try {
+                archiving.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, Instant.now());
+
+        try {
+            taskScheduler.schedule(heartbeat::countDown, Instant.now().plusMillis(50));
+            assertThat(heartbeat.await(2, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            archiving.countDown();
+        }
+    }
+
+    @Test
+    void movesOldReservationsInBatches() {
+
+        save(longAgo.plusHours(9));
+        save(longAgo.plusHours(10));
+        save(longAgo.plusDays(1).plusHours(9));
+        save(LocalDate.now().minusDays(10).atTime(9, 0));
+
+        ReservationArchiver archiver = new ReservationArchiver(reservationArchiveService, Duration.ofDays(60), 2, 10);
+
+        assertThat(archiver.archive()).isEqualTo(3);
+        assertThat(reservationArchiveRepository.count()).isEqualTo(3);
+        assertThat(reservationRepository.count()).isEqualTo(1);
+
+        assertThat(archiver.archive()).isZero();
+    }
+
+    @Test
+    void adminQueriesUnionHotAndArchivedReservations() {
+
+        // 보관 대상보다 먼저 시작했지만 아직 끝나지 않은 예약은 reservation 에 남는다.
+        save(longAgo.plusHours(8), LocalDateTime.now().plusHours(1));
+        save(longAgo.plusHours(9));
+        save(longAgo.plusHours(10));
+
+        new ReservationArchiver(reservationArchiveService, Duration.ofDays(60), 500, 10).archive();
+
+        ReservationFilter filter = ReservationFilter.builder().roomId(roomEntity.getId()).build();
+
+        List<ReservationEntity> firstPage = reservationService.findReservations(filter, null, 2);
+        ReservationEntity last = firstPage.get(1);
+        List<ReservationEntity> secondPage = reservationService.findReservations(
+                filter, new AdminReservationCursor(last.getStartTime(), last.getId()), 2);
+
+        assertThat(firstPage).extracting(ReservationEntity::getStartTime)
+                .containsExactly(longAgo.plusHours(8), longAgo.plusHours(9));
+        assertThat(secondPage).extracting(ReservationEntity::getStartTime)
+                .containsExactly(longAgo.plusHours(10));
+        assertThat(secondPage.get(0).getRoom().getName()).isEqualTo("세미나실 1");
+
+        List<LocalDateTime> startTimes = new ArrayList<>();
+        reservationService.forEachReservation(filter, reservationEntity -> startTimes.add(reservationEntity.getStartTime()));
+
+        assertThat(startTimes).containsExactly(longAgo.plusHours(8), longAgo.plusHours(9), longAgo.plusHours(10));
+    }
+
+    @Test
+    void adminDeletesArchivedReservation() {
+
+        Long archivedId = fixture.saveReservation(roomEntity, longAgo.plusHours(9), longAgo.plusHours(10)).getId();
+        Long hotId = fixture.saveReservation(roomEntity, longAgo.plusHours(8), LocalDateTime.now().plusHours(1)).getId();
+
+        new ReservationArchiver(reservationArchiveService, Duration.ofDays(60), 500, 10).archive();
+        assertThat(reservationArchiveRepository.existsById(archivedId)).isTrue();
+
+        // 관리자 목록에 보이는 보관된 예약도 삭제할 수 있어야 한다.
+        reservationService.deleteReservation(archivedId);
+        reservationService.deleteReservation(hotId);
+
+        assertThat(reservationArchiveRepository.count()).isZero();
+        assertThat(reservationRepository.count()).isZero();
+        assertThat(reservationService.findReservations(
+                ReservationFilter.builder().roomId(roomEntity.getId()).build(), null, 10)).isEmpty();
+
+        assertThatThrownBy(() -> reservationService.deleteReservation(archivedId))
+                .isInstanceOf(InvalidReservationIdException.class);
+    }
+
+    private void save(LocalDateTime startTime) {
+
+        save(startTime, startTime.plusHours(1));
+    }
+
+    private void save(LocalDateTime startTime, LocalDateTime endTime) {
+
+        fixture.saveReservation(roomEntity, startTime, endTime);
+    }
+}
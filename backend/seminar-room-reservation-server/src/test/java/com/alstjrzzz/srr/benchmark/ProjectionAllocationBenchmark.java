@@ -0,0 +1,148 @@
+package com.alstjrzzz.srr.benchmark;
+
+import com.alstjrzzz.srr.domain.Reservation;
+import com.alstjrzzz.srr.dto.reservation.ReservationResponseDTO;
+import com.alstjrzzz.srr.entity.ReservationEntity;
+import com.alstjrzzz.srr.entity.RoomEntity;
+import com.alstjrzzz.srr.repository.ReservationRepository;
+import com.alstjrzzz.srr.support.ReservationFixture;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 공개 예약 현황 조회 한 번에 할당되는 메모리를 entity 조회와 projection 조회로 비교한다.
+ * 둘 다 같은 트랜잭션 안에서 조회하고 응답 DTO 까지 만든다.
+ * ./gradlew benchmark 로 실행한다.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(ReservationFixture.class)
+class ProjectionAllocationBenchmark {
+
+    private static final int RESERVATIONS = 200;
+    private static final int WARMUP = 300;
+    private static final int ITERATIONS = 1_000;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationFixture fixture;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long roomId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @BeforeEach
+    void setUp() {
+
+        RoomEntity roomEntity = fixture.createRoom();
+        roomId = roomEntity.getId();
+
+        start = LocalDate.now().atStartOfDay();
+        end = start.plusDays(7);
+
+        for (int i = 0; i < RESERVATIONS; i++) {
+            LocalDateTime startTime = start.plusMinutes(45L * i);
+            fixture.saveReservation(roomEntity, startTime, startTime.plusMinutes(30));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        fixture.cleanUp();
+    }
+
+    @Test
+    void compareAllocationPerRequest() {
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        Supplier<List<ReservationResponseDTO>> entityPath = () -> transactionTemplate.execute(status ->
+                entityManager.createQuery("SELECT r " +
+                                "FROM ReservationEntity r " +
+                                "WHERE r.room.id = :roomId " +
+                                "AND r.startTime BETWEEN :start AND :end", ReservationEntity.class)
+                        .setParameter("roomId", roomId)
+                        .setParameter("start", start)
+                        .setParameter("end", end)
+                        .getResultList()
+                        .stream()
+                        .map(ReservationEntity::toReservation)
+                        .map(ProjectionAllocationBenchmark::toResponseDTO)
+                        .toList());
+
+        Supplier<List<ReservationResponseDTO>> projectionPath = () -> transactionTemplate.execute(status ->
+                reservationRepository.findReservationsByRoomAndDateRange(roomId, start, end)
+                        .stream()
+                        .map(ReservationResponseDTO::from)
+                        .toList());
+
+        assertThat(entityPath.get()).hasSize(RESERVATIONS);
+        assertThat(projectionPath.get()).hasSize(RESERVATIONS);
+
+        long entityBytes = measure(entityPath);
+        long projectionBytes = measure(projectionPath);
+
+        System.out.printf("reservations=%d, iterations=%d%n", RESERVATIONS, ITERATIONS);
+        System.out.printf("entity:     %,d bytes/request%n", entityBytes);
+        System.out.printf("projection: %,d bytes/request (-%.0f%%)%n",
+                projectionBytes, 100.0 * (entityBytes - projectionBytes) / entityBytes);
+
+        assertThat(projectionBytes).isLessThan(entityBytes);
+    }
+
+    private long measure(Supplier<List<ReservationResponseDTO>> path) {
+
+        for (int i = 0; i < WARMUP; i++) {
+            path.get();
+        }
+
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        long before = threadMXBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            path.get();
+        }
+        return (threadMXBean.getCurrentThreadAllocatedBytes() - before) / ITERATIONS;
+    }
+
+    private static ReservationResponseDTO toResponseDTO(Reservation reservation) {
+
+        return ReservationResponseDTO.builder()
+                .id(reservation.getId())
+                .roomId(reservation.getRoomId())
+                .nickname(reservation.getNickname())
+                .purpose(reservation.getPurpose())
+                .startTime(reservation.getStartTime())
+                .endTime(reservation.getEndTime())
+                .createdAt(reservation.getCreatedAt())
+                .build();
+    }
+}
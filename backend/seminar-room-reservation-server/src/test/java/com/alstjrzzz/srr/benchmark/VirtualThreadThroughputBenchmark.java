@@ -0,0 +1,132 @@
+package com.alstjrzzz.srr.benchmark;
+
+import com.alstjrzzz.srr.SeminarRoomReservationServerApplication;
+import com.alstjrzzz.srr.entity.RoomEntity;
+import com.alstjrzzz.srr.repository.ReservationRepository;
+import com.alstjrzzz.srr.repository.ReservationSlotRepository;
+import com.alstjrzzz.srr.repository.RoomRepository;
+import com.alstjrzzz.srr.support.ReservationFixture;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 여러 방 예약 현황 조회(GET /api/reservation?roomIds=...)를 동시에 많이 보내
+ * Tomcat 플랫폼 스레드와 가상 스레드(spring.threads.virtual.enabled)에서의 처리량을 비교한다.
+ * 이 조회는 캐시 없이 매번 DB 를 읽으므로 HikariCP 풀 크기가 처리량의 상한이 된다.
+ * H2 메모리 DB 라 실제 MySQL 보다 DB 대기가 짧으므로 수치는 두 설정의 상대 비교로만 본다.
+ * ./gradlew benchmark 로 실행한다.
+ */
+@Tag("benchmark")
+class VirtualThreadThroughputBenchmark {
+
+    private static final int REQUESTS = 5_000;
+    private static final int CONCURRENCY = 400;
+    private static final int ROOMS = 5;
+
+    @Test
+    void compareThroughput() throws Exception {
+
+        double platform = measure(false);
+        double virtual = measure(true);
+
+        System.out.printf("requests=%d, concurrency=%d%n", REQUESTS, CONCURRENCY);
+        System.out.printf("platform threads: %.0f req/s%n", platform);
+        System.out.printf("virtual threads:  %.0f req/s (x%.2f)%n", virtual, virtual / platform);
+    }
+
+    private double measure(boolean virtualThreads) throws Exception {
+
+        try (var context = (ServletWebServerApplicationContext) new SpringApplicationBuilder(SeminarRoomReservationServerApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:srr_benchmark_" + virtualThreads + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+                .run()) {
+
+            ReservationFixture fixture = new ReservationFixture(
+                    context.getBean(ReservationRepository.class),
+                    context.getBean(ReservationSlotRepository.class),
+                    context.getBean(RoomRepository.class));
+
+            String uri = "http://localhost:" + context.getWebServer().getPort() + "/api/reservation?roomIds=" + seed(fixture);
+            int poolSize = context.getBean(HikariDataSource.class).getMaximumPoolSize();
+
+            HttpClient client = HttpClient.newHttpClient();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(uri)).GET().build();
+
+            // 예열
+            send(client, request, REQUESTS / 5);
+
+            long start = System.nanoTime();
+            int succeeded = send(client, request, REQUESTS);
+            long elapsed = System.nanoTime() - start;
+
+            assertThat(succeeded).isEqualTo(REQUESTS);
+            System.out.printf("virtual=%s, hikari maximum-pool-size=%d%n", virtualThreads, poolSize);
+
+            return REQUESTS / (elapsed / 1_000_000_000.0);
+        }
+    }
+
+    private String seed(ReservationFixture fixture) {
+
+        LocalDateTime start = LocalDate.now().atStartOfDay();
+
+        List<String> roomIds = new ArrayList<>();
+        for (int room = 0; room < ROOMS; room++) {
+            RoomEntity roomEntity = fixture.createRoom("세미나실 " + room, 10, null);
+            roomIds.add(roomEntity.getId().toString());
+            for (int i = 0; i < 40; i++) {
+                LocalDateTime startTime = start.plusHours(4L * i);
+                fixture.saveReservation(roomEntity, startTime, startTime.plusHours(1));
+            }
+        }
+        return String.join(",", roomIds);
+    }
+
+    private int send(HttpClient client, HttpRequest request, int count) throws Exception {
+
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<CompletableFuture<?>> futures = new ArrayList<>(count);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                inFlight.acquire();
+                futures.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                            succeeded.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        // 실패한 요청은 succeeded 에 세지 않는다.
+                    } finally {
+                        inFlight.release();
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        }
+        return succeeded.get();
+    }
+}
@@ -0,0 +1,121 @@
+package com.alstjrzzz.srr.cache;
+
+import com.alstjrzzz.srr.exception.IdempotencyConflictException;
+import com.alstjrzzz.srr.exception.IdempotencyKeyMismatchException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyStoreTest {
+
+    private static final String SCOPE = "DELETE /api/reservation";
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    void replaysFirstResponseForSameKeyAndBody() {
+
+        IdempotencyStore store = store(Duration.ofMinutes(10), 100);
+
+        ResponseEntity<String> first = store.execute("key", SCOPE, request(20250001), this::cancel);
+        ResponseEntity<String> second = store.execute("key", SCOPE, request(20250001), this::cancel);
+
+        assertThat(second).isSameAs(first);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsSameKeyWithDifferentBody() {
+
+        IdempotencyStore store = store(Duration.ofMinutes(10), 100);
+
+        store.execute("key", SCOPE, request(20250001), this::cancel);
+
+        // 다른 학번으로 같은 키를 보내도 처음 응답을 받지 못한다.
+        assertThatThrownBy(() -> store.execute("key", SCOPE, request(20259999), this::cancel))
+                .isInstanceOf(IdempotencyKeyMismatchException.class);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsSameKeyWhileFirstRequestIsRunning() {
+
+        IdempotencyStore store = store(Duration.ofMinutes(10), 100);
+
+        store.execute("key", SCOPE, request(20250001), () -> {
+            assertThatThrownBy(() -> store.execute("key", SCOPE, request(20250001), this::cancel))
+                    .isInstanceOf(IdempotencyConflictException.class);
+            return cancel();
+        });
+
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void runsAgainAfterFailure() {
+
+        IdempotencyStore store = store(Duration.ofMinutes(10), 100);
+
+        assertThatThrownBy(() -> store.execute("key", SCOPE, request(20250001), () -> {
+            throw new IllegalStateException();
+        })).isInstanceOf(IllegalStateException.class);
+
+        store.execute("key", SCOPE, request(20250001), this::cancel);
+
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void runsAgainAfterTtl() {
+
+        IdempotencyStore store = store(Duration.ZERO, 100);
+
+        store.execute("key", SCOPE, request(20250001), this::cancel);
+        store.evictExpired();
+        store.execute("key", SCOPE, request(20250001), this::cancel);
+
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedKey() {
+
+        IdempotencyStore store = store(Duration.ofMinutes(10), 2);
+
+        store.execute("a", SCOPE, request(1), this::cancel);
+        store.execute("b", SCOPE, request(2), this::cancel);
+        // a 를 다시 쓰면 가장 오래 쓰이지 않은 키는 b 가 된다.
+        store.execute("a", SCOPE, request(1), this::cancel);
+        store.execute("c", SCOPE, request(3), this::cancel);
+        assertThat(executions.get()).isEqualTo(3);
+
+        store.execute("a", SCOPE, request(1), this::cancel);
+        assertThat(executions.get()).isEqualTo(3);
+
+        store.execute("b", SCOPE, request(2), this::cancel);
+        assertThat(executions.get()).isEqualTo(4);
+    }
+
+    private IdempotencyStore store(Duration ttl, int maxEntries) {
+
+        return new IdempotencyStore(new ObjectMapper(), ttl, maxEntries);
+    }
+
+    private Map<String, Object> request(int studentId) {
+
+        return Map.of("reservationId", 1L, "studentName", "홍길동", "studentId", studentId);
+    }
+
+    private ResponseEntity<String> cancel() {
+
+        executions.incrementAndGet();
+        return ResponseEntity.ok("예약이 취소되었습니다.");
+    }
+}
@@ -0,0 +1,72 @@
+package com.alstjrzzz.srr.cache;
+
+import com.alstjrzzz.srr.event.ReservationChangedEvent;
+import com.alstjrzzz.srr.event.RoomChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResourceVersionsTest {
+
+    private final ResourceVersions resourceVersions = new ResourceVersions();
+
+    @Test
+    void reservationChangeBumpsOnlyItsRoomAndReservations() {
+
+        String room1 = resourceVersions.scheduleETag(1L);
+        String room2 = resourceVersions.scheduleETag(2L);
+        String catalog = resourceVersions.catalogETag();
+        String reservations = resourceVersions.reservationsETag();
+
+        resourceVersions.onReservationChanged(reservationChanged(1L));
+
+        assertThat(resourceVersions.scheduleETag(1L)).isNotEqualTo(room1);
+        assertThat(resourceVersions.scheduleETag(2L)).isEqualTo(room2);
+        assertThat(resourceVersions.catalogETag()).isEqualTo(catalog);
+        assertThat(resourceVersions.reservationsETag()).isNotEqualTo(reservations);
+    }
+
+    @Test
+    void reservationChangeWithoutRoomBumpsEveryRoom() {
+
+        String room1 = resourceVersions.scheduleETag(1L);
+        String room2 = resourceVersions.scheduleETag(2L);
+
+        resourceVersions.onReservationChanged(reservationChanged(null));
+
+        assertThat(resourceVersions.scheduleETag(1L)).isNotEqualTo(room1);
+        assertThat(resourceVersions.scheduleETag(2L)).isNotEqualTo(room2);
+    }
+
+    @Test
+    void roomChangeBumpsRoomCatalogAndReservations() {
+
+        String room1 = resourceVersions.scheduleETag(1L);
+        String catalog = resourceVersions.catalogETag();
+        String reservations = resourceVersions.reservationsETag();
+
+        resourceVersions.onRoomChanged(new RoomChangedEvent(RoomChangedEvent.Type.UPDATED, 1L));
+
+        assertThat(resourceVersions.scheduleETag(1L)).isNotEqualTo(room1);
+        assertThat(resourceVersions.catalogETag()).isNotEqualTo(catalog);
+        assertThat(resourceVersions.reservationsETag()).isNotEqualTo(reservations);
+    }
+
+    @Test
+    void eTagIsStableAndQuotedWithoutChanges() {
+
+        assertThat(resourceVersions.scheduleETag(1L))
+                .isEqualTo(resourceVersions.scheduleETag(1L))
+                .startsWith("\"")
+                .endsWith("\"");
+        assertThat(resourceVersions.catalogETag()).isEqualTo(resourceVersions.catalogETag());
+    }
+
+    private ReservationChangedEvent reservationChanged(Long roomId) {
+
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1);
+        return new ReservationChangedEvent(ReservationChangedEvent.Type.CREATED, 1L, roomId, startTime, startTime.plusHours(1));
+    }
+}
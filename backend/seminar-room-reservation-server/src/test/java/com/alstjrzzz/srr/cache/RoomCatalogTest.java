@@ -0,0 +1,63 @@
+package com.alstjrzzz.srr.cache;
+
+import com.alstjrzzz.srr.dto.admin.AdminRoomResponseDTO;
+import com.alstjrzzz.srr.dto.room.RoomResponseDTO;
+import com.alstjrzzz.srr.entity.RoomEntity;
+import com.alstjrzzz.srr.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RoomCatalogTest {
+
+    @Autowired
+    private RoomCatalog roomCatalog;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @AfterEach
+    void tearDown() {
+
+        roomRepository.deleteAll();
+        roomCatalog.refresh();
+    }
+
+    @Test
+    void keepsSnapshotUntilRefreshed() {
+
+        roomCatalog.refresh();
+        assertThat(roomCatalog.getRooms()).isEmpty();
+
+        RoomEntity available = roomRepository.save(room("세미나실 1", true));
+        RoomEntity unavailable = roomRepository.save(room("세미나실 2", false));
+
+        // 방 변경 이벤트 없이 저장했으므로 스냅샷은 그대로다.
+        assertThat(roomCatalog.getRooms()).isEmpty();
+        assertThat(roomCatalog.getPublicView()).isSameAs(roomCatalog.getPublicView());
+
+        roomCatalog.refresh();
+
+        assertThat(roomCatalog.getPublicView().getRooms()).extracting(RoomResponseDTO::getId)
+                .containsExactly(available.getId());
+        assertThat(roomCatalog.getAdminView().getRooms()).extracting(AdminRoomResponseDTO::getId)
+                .containsExactlyInAnyOrder(available.getId(), unavailable.getId());
+        assertThat(roomCatalog.getRoom(unavailable.getId()).isAvailable()).isFalse();
+    }
+
+    private RoomEntity room(String name, boolean available) {
+
+        return RoomEntity.builder()
+                .name(name)
+                .location("학생회관 2층")
+                .capacity(10)
+                .available(available)
+                .build();
+    }
+}
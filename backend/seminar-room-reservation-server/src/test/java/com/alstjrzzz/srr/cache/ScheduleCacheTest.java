@@ -0,0 +1,111 @@
+package com.alstjrzzz.srr.cache;
+
+import com.alstjrzzz.srr.dto.reservation.GetReservationsResponseDTO;
+import com.alstjrzzz.srr.event.ReservationChangedEvent;
+import com.alstjrzzz.srr.event.RoomChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScheduleCacheTest {
+
+    private final ScheduleCache scheduleCache = new ScheduleCache(new ObjectMapper());
+    private final AtomicInteger loads = new AtomicInteger();
+    private final LocalDate today = LocalDate.now();
+
+    @Test
+    void keepsValueUntilItsRoomIsEvicted() {
+
+        get(1L);
+        get(2L);
+        get(1L);
+        assertThat(loads.get()).isEqualTo(2);
+
+        scheduleCache.onReservationChanged(reservationChanged(1L));
+
+        get(1L);
+        get(2L);
+        assertThat(loads.get()).isEqualTo(3);
+
+        scheduleCache.onRoomChanged(new RoomChangedEvent(RoomChangedEvent.Type.UPDATED, 2L));
+
+        get(2L);
+        assertThat(loads.get()).isEqualTo(4);
+    }
+
+    @Test
+    void discardsLoadThatOverlapsEviction() {
+
+        // 조회하는 동안 예약이 바뀐 경우. 이번 응답은 그대로 나가지만 캐시에는 남지 않는다.
+        scheduleCache.get(1L, today, loader(() -> scheduleCache.evict(1L)));
+        get(1L);
+        get(1L);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void discardsLoadThatOverlapsEvictAllForNeverEvictedRoom() {
+
+        scheduleCache.get(1L, today, loader(() -> scheduleCache.onReservationChanged(reservationChanged(null))));
+        get(1L);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void reloadsOnNextDay() {
+
+        get(1L);
+        get(1L);
+        assertThat(loads.get()).isEqualTo(1);
+
+        scheduleCache.get(1L, today.plusDays(1), loader(() -> {
+        }));
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void reservationChangeWithoutRoomEvictsEveryRoom() {
+
+        get(1L);
+        get(2L);
+
+        scheduleCache.onReservationChanged(reservationChanged(null));
+
+        get(1L);
+        get(2L);
+        assertThat(loads.get()).isEqualTo(4);
+    }
+
+    private void get(Long roomId) {
+
+        scheduleCache.get(roomId, today, loader(() -> {
+        }));
+    }
+
+    private Supplier<GetReservationsResponseDTO> loader(Runnable whileLoading) {
+
+        return () -> {
+            loads.incrementAndGet();
+            whileLoading.run();
+            return GetReservationsResponseDTO.builder()
+                    .reservationList(List.of())
+                    .build();
+        };
+    }
+
+    private ReservationChangedEvent reservationChanged(Long roomId) {
+
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1);
+        return new ReservationChangedEvent(ReservationChangedEvent.Type.DELETED, 1L, roomId,
+                roomId == null ? null : startTime, roomId == null ? null : startTime.plusHours(1));
+    }
+}
@@ -0,0 +1,53 @@
+package com.alstjrzzz.srr.calendar;
+
+import com.alstjrzzz.srr.domain.Room;
+import com.alstjrzzz.srr.repository.projection.ReservationView;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ICalendarWriterTest {
+
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+
+    @Test
+    void writesEventInUtcWithEscapedText() throws IOException {
+
+        StringWriter out = new StringWriter();
+        ICalendarWriter calendar = new ICalendarWriter(out, SEOUL);
+        Room room = Room.builder().id(1L).name("세미나실 1").location("학생회관 2층").build();
+        LocalDateTime start = LocalDateTime.of(2025, 3, 10, 9, 0);
+
+        calendar.beginCalendar(room);
+        calendar.event(new ReservationView(7L, 1L, "동아리", "회의; 발표, 준비", start, start.plusHours(1), start.minusDays(1)), room, start);
+        calendar.endCalendar();
+
+        String ics = out.toString();
+        assertThat(ics).startsWith("BEGIN:VCALENDAR\r\n").endsWith("END:VCALENDAR\r\n");
+        assertThat(ics).contains(
+                "UID:reservation-7@srr\r\n",
+                "DTSTART:20250310T000000Z\r\n",
+                "DTEND:20250310T010000Z\r\n",
+                "DESCRIPTION:회의\\; 발표\\, 준비\r\n");
+    }
+
+    @Test
+    void foldsLongLinesWithoutSplittingCharacters() throws IOException {
+
+        StringWriter out = new StringWriter();
+        ICalendarWriter calendar = new ICalendarWriter(out, SEOUL);
+
+        calendar.beginCalendar(Room.builder().id(1L).name("가".repeat(60)).build());
+
+        for (String line : out.toString().split("\r\n")) {
+            assertThat(line.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(75);
+        }
+        assertThat(out.toString().replace("\r\n ", "")).contains("X-WR-CALNAME:" + "가".repeat(60) + "\r\n");
+    }
+}
@@ -0,0 +1,89 @@
+package com.alstjrzzz.srr.calendar;
+
+import com.alstjrzzz.srr.event.ReservationChangedEvent;
+import com.alstjrzzz.srr.event.RoomChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ReservationChangeLogTest {
+
+    private static final long ROOM_ID = 1L;
+
+    private ReservationChangeLog changeLog;
+    private LocalDateTime tomorrow;
+
+    @BeforeEach
+    void setUp() {
+
+        changeLog = new ReservationChangeLog(3);
+        tomorrow = LocalDate.now().plusDays(1).atStartOfDay();
+    }
+
+    @Test
+    void returnsOnlyChangesAfterToken() {
+
+        changed(ReservationChangedEvent.Type.CREATED, 1L, ROOM_ID);
+        String token = changeLog.currentToken();
+
+        changed(ReservationChangedEvent.Type.CREATED, 2L, ROOM_ID);
+        changed(ReservationChangedEvent.Type.CREATED, 3L, 2L);
+        changed(ReservationChangedEvent.Type.CANCELED, 1L, ROOM_ID);
+
+        assertThat(changeLog.changesSince(ROOM_ID, token))
+                .extracting(ReservationChangeLog.Change::reservationId, ReservationChangeLog.Change::type)
+                .containsExactly(
+                        tuple(2L, ReservationChangedEvent.Type.CREATED),
+                        tuple(1L, ReservationChangedEvent.Type.CANCELED));
+        assertThat(changeLog.changesSince(ROOM_ID, changeLog.currentToken())).isEmpty();
+    }
+
+    @Test
+    void requiresFullSyncWhenChangesWereDropped() {
+
+        String token = changeLog.currentToken();
+        for (long id = 1; id <= 4; id++) {
+            changed(ReservationChangedEvent.Type.CREATED, id, ROOM_ID);
+        }
+
+        assertThat(changeLog.changesSince(ROOM_ID, token)).isNull();
+        // 다른 방은 버려진 변경이 없다.
+        assertThat(changeLog.changesSince(2L, token)).isEmpty();
+    }
+
+    @Test
+    void requiresFullSyncForUnknownTokenOrRoomlessChange() {
+
+        assertThat(changeLog.changesSince(ROOM_ID, "unknown-0")).isNull();
+        assertThat(changeLog.changesSince(ROOM_ID, changeLog.currentToken() + "1")).isNull();
+
+        String token = changeLog.currentToken();
+        changed(ReservationChangedEvent.Type.DELETED, 9L, null);
+
+        assertThat(changeLog.changesSince(ROOM_ID, token)).isNull();
+        assertThat(changeLog.changesSince(ROOM_ID, changeLog.currentToken())).isEmpty();
+    }
+
+    @Test
+    void forgetsDeletedRoom() {
+
+        String token = changeLog.currentToken();
+        changed(ReservationChangedEvent.Type.CREATED, 1L, ROOM_ID);
+
+        changeLog.onRoomChanged(new RoomChangedEvent(RoomChangedEvent.Type.DELETED, ROOM_ID));
+
+        assertThat(changeLog.changesSince(ROOM_ID, token)).isEmpty();
+    }
+
+    private void changed(ReservationChangedEvent.Type type, Long reservationId, Long roomId) {
+
+        changeLog.onReservationChanged(new ReservationChangedEvent(type, reservationId, roomId,
+                roomId == null ? null : tomorrow.plusHours(9),
+                roomId == null ? null : tomorrow.plusHours(10)));
+    }
+}
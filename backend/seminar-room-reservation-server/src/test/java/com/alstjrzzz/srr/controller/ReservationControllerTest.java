@@ -0,0 +1,108 @@
+package com.alstjrzzz.srr.controller;
+
+import com.alstjrzzz.srr.cache.ResourceVersions;
+import com.alstjrzzz.srr.cache.RoomCatalog;
+import com.alstjrzzz.srr.cache.ScheduleCache;
+import com.alstjrzzz.srr.event.ReservationChangedEvent;
+import com.alstjrzzz.srr.service.ReservationService;
+import com.alstjrzzz.srr.support.ReservationFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(ReservationFixture.class)
+class ReservationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private RoomCatalog roomCatalog;
+
+    @Autowired
+    private ReservationFixture fixture;
+
+    @MockitoSpyBean
+    private ScheduleCache scheduleCache;
+
+    @MockitoSpyBean
+    private ResourceVersions resourceVersions;
+
+    private Long roomId;
+    private LocalDateTime tomorrow;
+
+    @BeforeEach
+    void setUp() {
+
+        roomId = fixture.createRoom().getId();
+        roomCatalog.refresh();
+        tomorrow = LocalDate.now().plusDays(1).atStartOfDay();
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        fixture.cleanUp();
+        roomCatalog.refresh();
+    }
+
+    @Test
+    void getReservationsAnswersNotModifiedUntilReservationChanges() throws Exception {
+
+        MvcResult first = mockMvc.perform(get("/api/reservation/{roomId}", roomId))
+                .andExpect(status().isOk())
+                .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotNull();
+
+        mockMvc.perform(get("/api/reservation/{roomId}", roomId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        reservationService.reservation(fixture.reservation(roomId, tomorrow.plusHours(9), tomorrow.plusHours(10)));
+
+        MvcResult changed = mockMvc.perform(get("/api/reservation/{roomId}", roomId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+
+        assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+        assertThat(changed.getResponse().getContentAsString()).contains(tomorrow.plusHours(9).toString());
+    }
+
+    @Test
+    void scheduleCacheIsEvictedBeforeVersionIsBumped() {
+
+        reservationService.reservation(fixture.reservation(roomId, tomorrow.plusHours(9), tomorrow.plusHours(10)));
+
+        // 버전이 먼저 오르면 새 ETag 로 무효화 전의 캐시 값을 응답할 수 있다.
+        InOrder order = inOrder(scheduleCache, resourceVersions);
+        order.verify(scheduleCache).onReservationChanged(any(ReservationChangedEvent.class));
+        order.verify(resourceVersions).onReservationChanged(any(ReservationChangedEvent.class));
+    }
+}
@@ -0,0 +1,175 @@
+package com.alstjrzzz.srr.datasource;
+
+import com.alstjrzzz.srr.cache.RoomCatalog;
+import com.alstjrzzz.srr.controller.ReservationController;
+import com.alstjrzzz.srr.service.ReservationService;
+import com.alstjrzzz.srr.support.ReservationFixture;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 복제가 전혀 되지 않는 replica 를 흉내 내기 위해 서로 다른 H2 두 개를 primary / replica 로 사용한다.
+ * replica 에서 읽었다면 primary 에 쓴 예약이 보이지 않는다.
+ * 요청은 RequestContextHolder 에 mock 요청을 걸어 흉내 낸다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:srr_routing_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.replica.jdbc-url=jdbc:h2:mem:srr_routing_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.replica.driver-class-name=org.h2.Driver",
+        "spring.datasource.replica.username=sa",
+        "reservation.read-your-writes.window=300ms"
+})
+@ActiveProfiles("test")
+@Import(ReservationFixture.class)
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationFixture fixture;
+
+    @Autowired
+    private ReservationController reservationController;
+
+    @Autowired
+    private RoomCatalog roomCatalog;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private Long roomId;
+    private LocalDateTime tomorrow;
+
+    @BeforeEach
+    void setUp() {
+
+        // 실제 replica 는 primary 의 스키마를 복제받는다.
+        Flyway.configure()
+                .dataSource(replicaDataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .placeholders(Map.of("slot_minutes", "15"))
+                .load()
+                .migrate();
+
+        roomId = fixture.createRoom().getId();
+
+        tomorrow = LocalDate.now().plusDays(1).atStartOfDay();
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        fixture.cleanUp();
+        roomCatalog.refresh();
+    }
+
+    @Test
+    void readsOwnBookingFromPrimaryThenFromReplica() throws InterruptedException {
+
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        inRequest(new MockHttpServletRequest(), writeResponse, () ->
+                reservationService.reservation(fixture.reservation(roomId, tomorrow.plusHours(9), tomorrow.plusHours(10))));
+
+        Cookie cookie = writeResponse.getCookie(ReadYourWrites.COOKIE_NAME);
+        assertThat(cookie).isNotNull();
+
+        // 예약 직후 예약한 사용자는 primary 에서 읽으므로 방금 한 예약이 보인다.
+        assertThat(inRequest(withCookie(cookie), this::findReservations)).hasSize(1);
+
+        // 쿠키가 없는 다른 사용자는 계속 replica 에서 읽는다.
+        assertThat(inRequest(new MockHttpServletRequest(), this::findReservations)).isEmpty();
+        assertThat(readYourWrites.isPrimaryRequired()).isFalse();
+
+        Thread.sleep(400);
+
+        // window 가 지나면 예약한 사용자도 replica 에서 읽는다.
+        assertThat(inRequest(withCookie(cookie), this::findReservations)).isEmpty();
+
+        assertThat(readYourWrites.onPrimary(this::findReservations)).hasSize(1);
+    }
+
+    @Test
+    void ignoresCookieBeyondWindow() {
+
+        reservationService.reservation(fixture.reservation(roomId, tomorrow.plusHours(9), tomorrow.plusHours(10)));
+
+        // 클라이언트가 바꾼 값으로 primary 에 계속 묶이지 않는다.
+        Cookie forged = new Cookie(ReadYourWrites.COOKIE_NAME, Long.toString(Long.MAX_VALUE));
+        assertThat(inRequest(withCookie(forged), this::findReservations)).isEmpty();
+    }
+
+    @Test
+    void scheduleCacheLoadsFromPrimaryAfterWindow() throws InterruptedException {
+
+        roomCatalog.refresh();
+        reservationService.reservation(fixture.reservation(roomId, tomorrow.plusHours(9), tomorrow.plusHours(10)));
+
+        Thread.sleep(400);
+        assertThat(readYourWrites.isPrimaryRequired()).isFalse();
+
+        // 캐시는 다음 변경까지 값을 유지하므로 window 가 지난 뒤에도 replica 에서 채우면 안 된다.
+        byte[] body = reservationController.getReservations(roomId, new ServletWebRequest(new MockHttpServletRequest())).getBody();
+
+        assertThat(new String(body, StandardCharsets.UTF_8)).contains(tomorrow.plusHours(9).toString());
+    }
+
+    private MockHttpServletRequest withCookie(Cookie cookie) {
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(cookie);
+        return request;
+    }
+
+    private void inRequest(MockHttpServletRequest request, MockHttpServletResponse response, Runnable action) {
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        try {
+            action.run();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private <T> T inRequest(MockHttpServletRequest request, Supplier<T> action) {
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, new MockHttpServletResponse()));
+        try {
+            return action.get();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private List<?> findReservations() {
+
+        return reservationService.findReservationsByRooms(List.of(roomId), tomorrow, tomorrow.plusDays(1)).get(roomId);
+    }
+}
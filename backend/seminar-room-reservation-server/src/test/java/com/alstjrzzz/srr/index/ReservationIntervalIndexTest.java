@@ -0,0 +1,107 @@
+package com.alstjrzzz.srr.index;
+
+import com.alstjrzzz.srr.datasource.ReadYourWrites;
+import com.alstjrzzz.srr.event.ReservationChangedEvent;
+import com.alstjrzzz.srr.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ReservationIntervalIndexTest {
+
+    private static final long ROOM_ID = 1L;
+
+    private final ReservationIntervalIndex intervalIndex = new ReservationIntervalIndex(
+            mock(ReservationRepository.class), new ReadYourWrites(Duration.ZERO));
+
+    private final LocalDateTime tomorrow = LocalDate.now().plusDays(1).atStartOfDay();
+
+    @Test
+    void touchingIntervalsDoNotConflict() {
+
+        intervalIndex.add(1L, ROOM_ID, tomorrow.plusHours(10), tomorrow.plusHours(11));
+
+        assertThat(intervalIndex.hasConflict(ROOM_ID, tomorrow.plusHours(9), tomorrow.plusHours(10))).isFalse();
+        assertThat(intervalIndex.hasConflict(ROOM_ID, tomorrow.plusHours(11), tomorrow.plusHours(12))).isFalse();
+    }
+
+    @Test
+    void nestedAndOverlappingIntervalsConflict() {
+
+        intervalIndex.add(1L, ROOM_ID, tomorrow.plusHours(10), tomorrow.plusHours(12));
+
+        // 기존 예약 안에 들어가는 경우와 기존 예약을 감싸는 경우
+        assertThat(intervalIndex.hasConflict(ROOM_ID, tomorrow.plusHours(10).plusMinutes(30), tomorrow.plusHours(11))).isTrue();
+        assertThat(intervalIndex.hasConflict(ROOM_ID, tomorrow.plusHours(9), tomorrow.plusHours(13))).isTrue();
+        // 앞이나 뒤가 걸치는 경우
+        assertThat(intervalIndex.hasConflict(ROOM_ID, tomorrow.plusHours(9), tomorrow.plusHours(10).plusMinutes(15))).isTrue();
+        assertThat(intervalIndex.hasConflict(ROOM_ID, tomorrow.plusHours(11).plusMinutes(45), tomorrow.plusHours(13))).isTrue();
+        // 같은 시간
+        assertThat(intervalIndex.hasConflict(ROOM_ID, tomorrow.plusHours(10), tomorrow.plusHours(12))).isTrue();
+
+        assertThat(intervalIndex.hasConflict(ROOM_ID + 1, tomorrow.plusHours(10), tomorrow.plusHours(12))).isFalse();
+    }
+
+    @Test
+    void checksOnlyLatestIntervalStartingBeforeEnd() {
+
+        intervalIndex.add(1L, ROOM_ID, tomorrow.plusHours(8), tomorrow.plusHours(9));
+        intervalIndex.add(2L, ROOM_ID, tomorrow.plusHours(10), tomorrow.plusHours(11));
+        intervalIndex.add(3L, ROOM_ID, tomorrow.plusHours(12), tomorrow.plusHours(13));
+
+        assertThat(intervalIndex.hasConflict(ROOM_ID, tomorrow.plusHours(9), tomorrow.plusHours(10))).isFalse();
+        assertThat(intervalIndex.hasConflict(ROOM_ID, tomorrow.plusHours(11), tomorrow.plusHours(12))).isFalse();
+        assertThat(intervalIndex.hasConflict(ROOM_ID, tomorrow.plusHours(9), tomorrow.plusHours(12).plusMinutes(15))).isTrue();
+
+        List<Long> overlapping = new ArrayList<>();
+        intervalIndex.forEachOverlapping(ROOM_ID, tomorrow.plusHours(8).plusMinutes(30), tomorrow.plusHours(12),
+                interval -> overlapping.add(interval.reservationId()));
+        assertThat(overlapping).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void appliesReservationEvents() {
+
+        intervalIndex.onReservationChanged(event(ReservationChangedEvent.Type.CREATED, 1L));
+        intervalIndex.onReservationChanged(event(ReservationChangedEvent.Type.CREATED, 2L));
+
+        assertThat(intervalIndex.get(1L)).isNotNull();
+        assertThat(intervalIndex.hasConflict(ROOM_ID, tomorrow.plusHours(10), tomorrow.plusHours(11))).isTrue();
+
+        intervalIndex.onReservationChanged(event(ReservationChangedEvent.Type.CANCELED, 1L));
+        assertThat(intervalIndex.get(1L)).isNull();
+        assertThat(intervalIndex.hasConflict(ROOM_ID, tomorrow.plusHours(10), tomorrow.plusHours(11))).isTrue();
+
+        // 방과 시간을 모르는 삭제 이벤트도 ID 로 지운다.
+        intervalIndex.onReservationChanged(new ReservationChangedEvent(ReservationChangedEvent.Type.DELETED, 2L, null, null, null));
+        assertThat(intervalIndex.get(2L)).isNull();
+        assertThat(intervalIndex.hasConflict(ROOM_ID, tomorrow.plusHours(10), tomorrow.plusHours(11))).isFalse();
+    }
+
+    @Test
+    void evictsIntervalsThatEndedBeforeRetention() {
+
+        LocalDateTime twoDaysAgo = LocalDate.now().minusDays(2).atTime(10, 0);
+
+        intervalIndex.add(1L, ROOM_ID, twoDaysAgo, twoDaysAgo.plusHours(1));
+        intervalIndex.add(2L, ROOM_ID, tomorrow.plusHours(10), tomorrow.plusHours(11));
+
+        intervalIndex.evictExpired();
+
+        assertThat(intervalIndex.get(1L)).isNull();
+        assertThat(intervalIndex.get(2L)).isNotNull();
+        assertThat(intervalIndex.hasConflict(ROOM_ID, twoDaysAgo, twoDaysAgo.plusHours(1))).isFalse();
+    }
+
+    private ReservationChangedEvent event(ReservationChangedEvent.Type type, long reservationId) {
+
+        return new ReservationChangedEvent(type, reservationId, ROOM_ID, tomorrow.plusHours(10), tomorrow.plusHours(11));
+    }
+}
@@ -0,0 +1,117 @@
+package com.alstjrzzz.srr.index;
+
+import com.alstjrzzz.srr.datasource.ReadYourWrites;
+import com.alstjrzzz.srr.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReservationOccupancyIndexTest {
+
+    private static final long ROOM_ID = 1L;
+
+    private ReservationIntervalIndex intervalIndex;
+    private ReservationOccupancyIndex occupancyIndex;
+    private LocalDateTime tomorrow;
+
+    @BeforeEach
+    void setUp() {
+
+        ReservationRepository reservationRepository = mock(ReservationRepository.class);
+        when(reservationRepository.findReservationsEndingAfter(any())).thenReturn(List.of());
+
+        intervalIndex = new ReservationIntervalIndex(reservationRepository, new ReadYourWrites(Duration.ZERO));
+        intervalIndex.load();
+
+        occupancyIndex = new ReservationOccupancyIndex(intervalIndex, 15);
+        occupancyIndex.load();
+
+        tomorrow = LocalDate.now().plusDays(1).atStartOfDay();
+    }
+
+    @Test
+    void occupiedRangeIsNotFree() {
+
+        book(1L, tomorrow.plusHours(10), tomorrow.plusHours(12));
+
+        assertThat(occupancyIndex.isFree(ROOM_ID, tomorrow.plusHours(9), tomorrow.plusHours(10))).isTrue();
+        assertThat(occupancyIndex.isFree(ROOM_ID, tomorrow.plusHours(11), tomorrow.plusHours(13))).isFalse();
+        assertThat(occupancyIndex.isFree(ROOM_ID, tomorrow.plusHours(12), tomorrow.plusHours(13))).isTrue();
+    }
+
+    @Test
+    void rangeSpanningWordBoundariesIsTracked() {
+
+        // 15분 슬롯 기준 하루는 96비트이므로 자정을 넘는 예약은 여러 word 에 걸친다.
+        LocalDateTime start = tomorrow.plusHours(20);
+        LocalDateTime end = tomorrow.plusDays(1).plusHours(6);
+        book(1L, start, end);
+
+        assertThat(occupancyIndex.isFree(ROOM_ID, end.minusMinutes(15), end)).isFalse();
+        assertThat(occupancyIndex.isFree(ROOM_ID, start.minusMinutes(15), start)).isTrue();
+        assertThat(occupancyIndex.isFree(ROOM_ID, end, end.plusMinutes(15))).isTrue();
+    }
+
+    @Test
+    void releaseKeepsSlotsSharedWithNeighbour() {
+
+        book(1L, tomorrow.plusHours(10), tomorrow.plusHours(10).plusMinutes(10));
+        book(2L, tomorrow.plusHours(10).plusMinutes(10), tomorrow.plusHours(11));
+
+        cancel(1L, tomorrow.plusHours(10), tomorrow.plusHours(10).plusMinutes(10));
+
+        // 10:00~10:15 슬롯은 2번 예약이 아직 사용 중이다.
+        assertThat(occupancyIndex.isFree(ROOM_ID, tomorrow.plusHours(10), tomorrow.plusHours(10).plusMinutes(5))).isFalse();
+    }
+
+    @Test
+    void findFirstFreeRunSkipsOccupiedSlots() {
+
+        book(1L, tomorrow.plusHours(9), tomorrow.plusHours(10));
+        book(2L, tomorrow.plusHours(11), tomorrow.plusHours(12));
+
+        long from = occupancyIndex.toSlot(tomorrow.plusHours(9));
+        long to = occupancyIndex.toSlot(tomorrow.plusHours(18));
+
+        long oneHour = occupancyIndex.findFirstFreeRun(ROOM_ID, from, to, 4);
+        long twoHours = occupancyIndex.findFirstFreeRun(ROOM_ID, from, to, 8);
+
+        assertThat(occupancyIndex.toTime(oneHour)).isEqualTo(tomorrow.plusHours(10));
+        assertThat(occupancyIndex.toTime(twoHours)).isEqualTo(tomorrow.plusHours(12));
+        assertThat(occupancyIndex.findFirstFreeRun(ROOM_ID, from, from + 8, 8)).isEqualTo(-1);
+    }
+
+    @Test
+    void rollDropsPastDayAndKeepsFutureReservations() {
+
+        book(1L, tomorrow.plusHours(10), tomorrow.plusHours(11));
+
+        occupancyIndex.rollTo(LocalDate.now().plusDays(1));
+
+        assertThat(occupancyIndex.isFree(ROOM_ID, tomorrow.plusHours(10), tomorrow.plusHours(11))).isFalse();
+        assertThat(occupancyIndex.isFree(ROOM_ID, tomorrow.plusHours(11), tomorrow.plusHours(12))).isTrue();
+        assertThat(occupancyIndex.isFree(ROOM_ID, tomorrow.minusHours(1), tomorrow)).isFalse();
+        assertThat(occupancyIndex.isFree(ROOM_ID, tomorrow.plusDays(7), tomorrow.plusDays(7).plusHours(1))).isTrue();
+    }
+
+    private void book(long reservationId, LocalDateTime startTime, LocalDateTime endTime) {
+
+        intervalIndex.add(reservationId, ROOM_ID, startTime, endTime);
+        occupancyIndex.occupy(ROOM_ID, startTime, endTime);
+    }
+
+    private void cancel(long reservationId, LocalDateTime startTime, LocalDateTime endTime) {
+
+        intervalIndex.remove(reservationId);
+        occupancyIndex.release(ROOM_ID, reservationId, startTime, endTime);
+    }
+}
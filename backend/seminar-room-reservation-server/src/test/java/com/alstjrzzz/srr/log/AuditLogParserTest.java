@@ -0,0 +1,57 @@
+package com.alstjrzzz.srr.log;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditLogParserTest {
+
+    private final AuditLogParser parser = new AuditLogParser();
+    private final AuditRecord record = new AuditRecord();
+
+    @Test
+    void readsJsonRecordWithEscapesAndNestedParameters() {
+
+        String line = "2025-03-10T09:00:00.123+09:00  INFO 1 --- [audit-log-writer] c.a.srr.log.LogAspect : "
+                + "AUDIT {\"timestamp\":\"2025-03-10T09:00:00.123\",\"ip\":\"10.0.0.1\",\"method\":\"POST\","
+                + "\"uri\":\"/api/reservation\",\"response\":\"400 BAD_REQUEST (\\\"중복\\\"\\u0021)\","
+                + "\"extra\":{\"ignored\":[1,2]},"
+                + "\"parameter\":[{\"purpose\":\"회의], [URI][x\",\"room\":{\"id\":1}},\"list(size: 2)\"]}";
+
+        assertThat(parser.parse(line, record)).isTrue();
+        assertThat(record.getTimestamp()).isEqualTo("2025-03-10T09:00:00.123");
+        assertThat(record.getIp()).isEqualTo("10.0.0.1");
+        assertThat(record.getUri()).isEqualTo("/api/reservation");
+        assertThat(record.getResponse()).isEqualTo("400 BAD_REQUEST (\"중복\"!)");
+        assertThat(record.getParameter())
+                .isEqualTo("[{\"purpose\":\"회의], [URI][x\",\"room\":{\"id\":1}},\"list(size: 2)\"]");
+    }
+
+    @Test
+    void readsLegacyTextRecordWithBracketsInsideParameters() {
+
+        String line = "2025-01-02T10:00:00.000+09:00  INFO 1 --- [nio-8080-exec-1] c.a.srr.log.LogAspect : "
+                + "[TIMESTAMP][2025-01-02T10:00:00.000], [IP][10.0.0.2], [METHOD][POST], [URI][/api/admin/reservations], "
+                + "[RESPONSE][200 OK (3개 삭제)], [PARAMETER][{\"roomIds\":[1,2],\"from\":\"2025-01-03T09:00\"}]";
+
+        assertThat(parser.parse(line, record)).isTrue();
+        assertThat(record.getTimestamp()).isEqualTo("2025-01-02T10:00:00.000");
+        assertThat(record.getMethod()).isEqualTo("POST");
+        assertThat(record.getUri()).isEqualTo("/api/admin/reservations");
+        assertThat(record.getResponse()).isEqualTo("200 OK (3개 삭제)");
+        assertThat(record.getParameter()).isEqualTo("{\"roomIds\":[1,2],\"from\":\"2025-01-03T09:00\"}");
+    }
+
+    @Test
+    void skipsOtherLinesAndClearsPreviousRecord() {
+
+        parser.parse("[TIMESTAMP][t], [IP][ip], [METHOD][GET], [URI][/api/admin/log], [RESPONSE][200 OK], [PARAMETER][]", record);
+        assertThat(record.getUri()).isEqualTo("/api/admin/log");
+        assertThat(record.getParameter()).isEmpty();
+
+        assertThat(parser.parse("2025-01-02 INFO Started SeminarRoomReservationServerApplication", record)).isFalse();
+        assertThat(record.getUri()).isNull();
+
+        assertThat(parser.parse("AUDIT {\"uri\":\"/api/room", record)).isFalse();
+    }
+}
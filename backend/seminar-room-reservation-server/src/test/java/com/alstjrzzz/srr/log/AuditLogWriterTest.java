@@ -0,0 +1,159 @@
+package com.alstjrzzz.srr.log;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditLogWriterTest {
+
+    @Test
+    void ringBufferKeepsEveryEventFromConcurrentProducers() throws Exception {
+
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(1000);
+        int producers = 8;
+        int perProducer = 10_000;
+
+        assertThat(buffer.capacity()).isEqualTo(1024);
+
+        Set<Integer> received = new HashSet<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(producers)) {
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(base + i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                }));
+            }
+
+            while (received.size() < producers * perProducer) {
+                buffer.drainTo(received::add, 64);
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        }
+
+        assertThat(received).hasSize(producers * perProducer);
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void dropPolicyCountsEventsRejectedWhenFull() {
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        List<String> lines = new CopyOnWriteArrayList<>();
+        AuditLogWriter writer = writer(meterRegistry, AuditOverflowPolicy.DROP, lines);
+
+        // writer 를 시작하기 전이라 아무것도 꺼내지 않는다.
+        for (int i = 0; i < 10; i++) {
+            writer.publish(event("/api/admin/room/" + i));
+        }
+
+        assertThat(dropped(meterRegistry, "full")).isEqualTo(2);
+
+        writer.start();
+        writer.stop();
+
+        assertThat(lines).hasSize(8);
+        assertThat(lines.get(0)).contains("\"uri\":\"/api/admin/room/0\"");
+    }
+
+    @Test
+    void samplePolicyKeepsOneInSampleRateOnceHalfFull() {
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AuditLogWriter writer = writer(meterRegistry, AuditOverflowPolicy.SAMPLE, new ArrayList<>());
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(writer.publish(event("/api/reservation"))).isTrue();
+        }
+
+        // 절반(4개)이 찬 뒤로는 2개 중 1개만 들어가고, 가득 차면 샘플 차례여도 버린다.
+        List<Boolean> accepted = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            accepted.add(writer.publish(event("/api/reservation")));
+        }
+
+        assertThat(accepted).containsExactly(true, false, true, false, true, false, true, false, false);
+        assertThat(dropped(meterRegistry, "sampled")).isEqualTo(4);
+        assertThat(dropped(meterRegistry, "full")).isEqualTo(1);
+    }
+
+    @Test
+    void blockPolicyWaitsForWriterInsteadOfDropping() {
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        List<String> lines = new CopyOnWriteArrayList<>();
+        AuditLogWriter writer = writer(meterRegistry, AuditOverflowPolicy.BLOCK, lines);
+
+        writer.start();
+        try {
+            for (int i = 0; i < 1000; i++) {
+                writer.publish(event("/api/reservation"));
+            }
+        } finally {
+            writer.stop();
+        }
+
+        assertThat(dropped(meterRegistry, "full")).isZero();
+        assertThat(lines).hasSize(1000);
+    }
+
+    @Test
+    void formatsEventAsJsonRecordThatParsesBack() {
+
+        AuditLogWriter writer = writer(new SimpleMeterRegistry(), AuditOverflowPolicy.DROP, new ArrayList<>());
+
+        String line = writer.format(new AuditEvent(0L, "127.0.0.1", "POST", "/api/admin/room",
+                HttpStatus.OK, "1개 삭제",
+                new Object[]{Map.of("name", "세미나실 [1]"), AuditEvent.SKIP, new AuditEvent.Raw("file(name: a.png, size: 3)"), List.of(1, 2)}));
+
+        assertThat(line).startsWith(AuditRecord.MARKER + "{\"timestamp\":\"")
+                .doesNotContain("\n");
+
+        AuditRecord record = new AuditRecord();
+        assertThat(new AuditLogParser().parse("2025-03-10 INFO --- c.a.s.log.LogAspect : " + line, record)).isTrue();
+        assertThat(record.getIp()).isEqualTo("127.0.0.1");
+        assertThat(record.getMethod()).isEqualTo("POST");
+        assertThat(record.getUri()).isEqualTo("/api/admin/room");
+        assertThat(record.getResponse()).isEqualTo("200 OK (1개 삭제)");
+        assertThat(record.getParameter())
+                .isEqualTo("[{\"name\":\"세미나실 [1]\"},\"file(name: a.png, size: 3)\",\"list(size: 2)\"]");
+    }
+
+    private AuditLogWriter writer(SimpleMeterRegistry meterRegistry, AuditOverflowPolicy overflowPolicy, List<String> lines) {
+
+        return new AuditLogWriter(new ObjectMapper(), meterRegistry, 8, 4, overflowPolicy, 2,
+                Duration.ofSeconds(1), Duration.ofMillis(1), lines::add);
+    }
+
+    private AuditEvent event(String uri) {
+
+        return new AuditEvent(System.currentTimeMillis(), "127.0.0.1", "POST", uri, HttpStatus.OK, null, new Object[0]);
+    }
+
+    private double dropped(SimpleMeterRegistry meterRegistry, String reason) {
+
+        return meterRegistry.get("audit.log.dropped").tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,157 @@
+package com.alstjrzzz.srr.repository;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 예약, 보관된 예약, 방, 이용 통계 repository 의 @Query 가 만든 SQL 을 EXPLAIN 해서
+ * 마이그레이션이 만든 인덱스로 읽는지 확인한다. 쿼리나 인덱스가 바뀌어 전체 스캔이 되면 실패한다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class QueryPlanTest {
+
+    // H2 는 인덱스 없이 테이블 전체를 읽을 때 실행 계획에 이 표시를 남긴다.
+    private static final String FULL_SCAN = "tableScan";
+
+    // 방 목록 스냅샷은 방이 바뀔 때만 전체 이미지를 한 번 읽으므로 전체 스캔이 맞다.
+    private static final Set<String> FULL_READ_QUERIES = Set.of("findAllRoomImages");
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private ReservationArchiveRepository reservationArchiveRepository;
+
+    @Autowired
+    private RoomUsageHourlyRepository roomUsageHourlyRepository;
+
+    @Autowired
+    private RoomUsageDailyRepository roomUsageDailyRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TestFactory
+    Stream<DynamicTest> everyRepositoryQueryUsesAnIndex() {
+
+        LocalDateTime now = LocalDateTime.now();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Map<String, Supplier<?>> queries = Map.ofEntries(
+                Map.entry("findReservationsByRoomAndDateRange", () ->
+                        reservationRepository.findReservationsByRoomAndDateRange(1L, now, now.plusDays(7))),
+                Map.entry("findConflictingReservations", () ->
+                        reservationRepository.findConflictingReservations(1L, now.minusDays(8), now, now.plusHours(1))),
+                Map.entry("findOverlappingForUpdate", () -> transactionTemplate.execute(status ->
+                        reservationRepository.findOverlappingForUpdate(List.of(1L, 2L), now.minusDays(8), now, now.plusHours(1)))),
+                Map.entry("findReservationsByRoomsAndDateRange", () ->
+                        reservationRepository.findReservationsByRoomsAndDateRange(List.of(1L, 2L), now.minusDays(8), now, now.plusDays(7))),
+                Map.entry("streamReservationsByRoom", () -> transactionTemplate.execute(status -> {
+                    try (Stream<?> reservations = reservationRepository.streamReservationsByRoom(1L, now, now.plusDays(7))) {
+                        return reservations.count();
+                    }
+                })),
+                Map.entry("findReservationViewsByIds", () ->
+                        reservationRepository.findReservationViewsByIds(List.of(1L, 2L))),
+                Map.entry("findTimeById", () ->
+                        reservationRepository.findTimeById(1L)),
+                Map.entry("findReservationsEndingAfter", () ->
+                        reservationRepository.findReservationsEndingAfter(now)),
+                Map.entry("findAdminReservationsAfter", () ->
+                        reservationRepository.findAdminReservationsAfter(null, now, now.plusDays(7), null, null, now, 0L, Limit.of(100))),
+                Map.entry("findAdminReservationsAfter(filtered)", () ->
+                        reservationRepository.findAdminReservationsAfter(1L, now, now.plusDays(7), 20250001, "홍길동", now, 10L, Limit.of(100))),
+                Map.entry("streamAdminReservations", () -> transactionTemplate.execute(status -> {
+                    try (Stream<?> reservations = reservationRepository.streamAdminReservations(null, now, now.plusDays(7), null, null)) {
+                        return reservations.count();
+                    }
+                })),
+                Map.entry("findIdsEndingBefore", () ->
+                        reservationRepository.findIdsEndingBefore(now, Limit.of(500))),
+                Map.entry("deleteByIds", () -> transactionTemplate.execute(status ->
+                        reservationRepository.deleteByIds(List.of(1L, 2L)))),
+                Map.entry("findArchivedAdminReservationsAfter", () ->
+                        reservationArchiveRepository.findAdminReservationsAfter(null, now, now.plusDays(7), null, null, now, 0L, Limit.of(100))),
+                Map.entry("streamArchivedAdminReservations", () -> transactionTemplate.execute(status -> {
+                    try (Stream<?> reservations = reservationArchiveRepository.streamAdminReservations(null, now, now.plusDays(7), null, null)) {
+                        return reservations.count();
+                    }
+                })),
+                Map.entry("findArchivedTimeById", () ->
+                        reservationArchiveRepository.findTimeById(1L)),
+                Map.entry("deleteArchivedByReservationId", () -> transactionTemplate.execute(status ->
+                        reservationArchiveRepository.deleteByReservationId(1L))),
+                Map.entry("deleteByIdAndStudent", () -> transactionTemplate.execute(status ->
+                        reservationRepository.deleteByIdAndStudent(1L, 20250001, "홍길동"))),
+                Map.entry("deleteByReservationId", () -> transactionTemplate.execute(status ->
+                        reservationRepository.deleteByReservationId(1L))),
+                Map.entry("findAllRoomViews", () -> roomRepository.findAllRoomViews()),
+                Map.entry("findAllRoomImages", () -> roomRepository.findAllRoomImages()),
+                Map.entry("findHourlyUsage", () ->
+                        roomUsageHourlyRepository.findUsage(null, now, now.plusDays(7))),
+                Map.entry("findDailyUsage", () ->
+                        roomUsageDailyRepository.findUsage(1L, now.toLocalDate(), now.toLocalDate().plusDays(7))));
+
+        return queries.entrySet().stream()
+                .map(query -> DynamicTest.dynamicTest(query.getKey(), () -> {
+
+                    List<String> statements = RecordingStatementInspector.record(query.getValue());
+                    assertThat(statements).isNotEmpty();
+
+                    if (FULL_READ_QUERIES.contains(query.getKey())) {
+                        return;
+                    }
+
+                    for (String sql : statements) {
+                        assertThat(explain(sql))
+                                .as("%s: %s", query.getKey(), sql)
+                                .doesNotContain(FULL_SCAN);
+                    }
+                }));
+    }
+
+    private String explain(String sql) throws SQLException {
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+
+            // 실행 계획은 준비 단계에서 정해지므로 파라미터 값은 영향을 주지 않는다.
+            int parameterCount = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameterCount; i++) {
+                statement.setObject(i, null);
+            }
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        }
+    }
+}
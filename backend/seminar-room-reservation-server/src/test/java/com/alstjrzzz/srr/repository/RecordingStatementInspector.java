@@ -0,0 +1,45 @@
+package com.alstjrzzz.srr.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 테스트에서 Repository 메서드가 실제로 만든 SQL 을 기록한다. record 안에서 실행된 SQL 만 모은다.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    public static List<String> record(Runnable action) {
+
+        return record(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static List<String> record(Supplier<?> action) {
+
+        List<String> statements = new ArrayList<>();
+        RECORDED.set(statements);
+        try {
+            action.get();
+        } finally {
+            RECORDED.remove();
+        }
+        return statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+
+        List<String> statements = RECORDED.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+}
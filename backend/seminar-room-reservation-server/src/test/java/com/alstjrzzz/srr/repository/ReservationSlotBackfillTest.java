@@ -0,0 +1,75 @@
+package com.alstjrzzz.srr.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 슬롯 테이블이 생기기 전의 예약이 V2 마이그레이션으로 슬롯을 갖게 되는지 확인한다.
+ * 테스트 DB 에는 이미 테이블이 있으므로 CREATE TABLE IF NOT EXISTS 는 건너뛰고 백필만 다시 실행된다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ReservationSlotBackfillTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${reservation.slot-minutes}")
+    private int slotMinutes;
+
+    @AfterEach
+    void tearDown() {
+
+        jdbcTemplate.update("DELETE FROM reservation_slot");
+        jdbcTemplate.update("DELETE FROM reservation");
+        jdbcTemplate.update("DELETE FROM room");
+    }
+
+    @Test
+    void backfillsSlotsOfUnfinishedReservationsOnly() throws Exception {
+
+        jdbcTemplate.update("INSERT INTO room (room_id, name, location, capacity, available, created_at) " +
+                "VALUES (900, '세미나실', '학생회관', 10, TRUE, CURRENT_TIMESTAMP)");
+
+        LocalDateTime tomorrow = LocalDate.now().plusDays(1).atStartOfDay();
+        insertLegacyReservation(901, tomorrow.plusHours(9).plusMinutes(10), tomorrow.plusHours(10));
+        insertLegacyReservation(902, tomorrow.minusDays(3), tomorrow.minusDays(3).plusHours(1));
+
+        String script = new ClassPathResource("db/migration/common/V2__create_reservation_slot.sql")
+                .getContentAsString(StandardCharsets.UTF_8)
+                .replace("${slot_minutes}", String.valueOf(slotMinutes));
+        for (String statement : script.replaceAll("(?m)^--.*$", "").split(";\\s*(\\n|$)")) {
+            if (!statement.isBlank()) {
+                jdbcTemplate.execute(statement.trim());
+            }
+        }
+
+        // 9:10 ~ 10:00 은 9:00, 9:15, 9:30, 9:45 슬롯에 걸친다. 이미 끝난 예약은 건너뛴다.
+        assertThat(jdbcTemplate.queryForList("SELECT slot_start FROM reservation_slot WHERE reservation_id = 901 ORDER BY slot_start",
+                LocalDateTime.class))
+                .containsExactly(tomorrow.plusHours(9), tomorrow.plusHours(9).plusMinutes(15),
+                        tomorrow.plusHours(9).plusMinutes(30), tomorrow.plusHours(9).plusMinutes(45));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservation_slot WHERE reservation_id = 902", Integer.class))
+                .isZero();
+    }
+
+    private void insertLegacyReservation(long reservationId, LocalDateTime startTime, LocalDateTime endTime) {
+
+        jdbcTemplate.update("INSERT INTO reservation (reservation_id, room_id, nickname, student_name, student_id, " +
+                        "phone_number, purpose, start_time, end_time, created_at) " +
+                        "VALUES (?, 900, '동아리', '홍길동', 20250001, '010-1234-5678', '스터디', ?, ?, CURRENT_TIMESTAMP)",
+                reservationId, startTime, endTime);
+    }
+}
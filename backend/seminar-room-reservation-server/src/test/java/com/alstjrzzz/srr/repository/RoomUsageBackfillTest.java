@@ -0,0 +1,72 @@
+package com.alstjrzzz.srr.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * rollup 테이블이 생기기 전의 예약이 V7 마이그레이션으로 이용 통계에 들어가는지 확인한다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RoomUsageBackfillTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+
+        jdbcTemplate.update("DELETE FROM room_usage_hourly");
+        jdbcTemplate.update("DELETE FROM room_usage_daily");
+        jdbcTemplate.update("DELETE FROM reservation");
+        jdbcTemplate.update("DELETE FROM room");
+    }
+
+    @Test
+    void backfillsHourlyAndDailyUsage() throws Exception {
+
+        jdbcTemplate.update("INSERT INTO room (room_id, name, location, capacity, available, created_at) " +
+                "VALUES (900, '세미나실', '학생회관', 10, TRUE, CURRENT_TIMESTAMP)");
+
+        LocalDateTime day = LocalDate.now().minusDays(3).atStartOfDay();
+        insertLegacyReservation(901, day.plusHours(9).plusMinutes(30), day.plusHours(11));
+        insertLegacyReservation(902, day.plusHours(23), day.plusDays(1).plusHours(1));
+
+        String script = new ClassPathResource("db/migration/common/V7__backfill_room_usage.sql")
+                .getContentAsString(StandardCharsets.UTF_8);
+        for (String statement : script.replaceAll("(?m)^--.*$", "").split(";")) {
+            if (!statement.isBlank()) {
+                jdbcTemplate.execute(statement.trim());
+            }
+        }
+
+        assertThat(jdbcTemplate.queryForList("SELECT booked_minutes FROM room_usage_hourly WHERE room_id = 900 ORDER BY bucket_start",
+                Integer.class))
+                .containsExactly(30, 60, 60, 60);
+        assertThat(jdbcTemplate.queryForList("SELECT booked_minutes FROM room_usage_daily WHERE room_id = 900 ORDER BY usage_date",
+                Integer.class))
+                .containsExactly(150, 60);
+        assertThat(jdbcTemplate.queryForList("SELECT reservation_count FROM room_usage_daily WHERE room_id = 900 ORDER BY usage_date",
+                Integer.class))
+                .containsExactly(2, 0);
+    }
+
+    private void insertLegacyReservation(long reservationId, LocalDateTime startTime, LocalDateTime endTime) {
+
+        jdbcTemplate.update("INSERT INTO reservation (reservation_id, room_id, nickname, student_name, student_id, " +
+                        "phone_number, purpose, start_time, end_time, created_at) " +
+                        "VALUES (?, 900, '동아리', '홍길동', 20250001, '010-1234-5678', '스터디', ?, ?, CURRENT_TIMESTAMP)",
+                reservationId, startTime, endTime);
+    }
+}
@@ -0,0 +1,72 @@
+package com.alstjrzzz.srr.service;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogServiceTest {
+
+    @TempDir
+    Path logDirectory;
+
+    @Test
+    void writesCurrentAndRotatedLogsIntoSheetsByUri() throws IOException {
+
+        Path logFile = logDirectory.resolve("srr.log");
+
+        StringBuilder current = new StringBuilder("2025-03-10 INFO Started SeminarRoomReservationServerApplication\n");
+        for (int i = 0; i < 250; i++) {
+            current.append("2025-03-10 INFO c.a.srr.log.LogAspect : AUDIT {\"timestamp\":\"2025-03-10T09:00:00\",")
+                    .append("\"ip\":\"10.0.0.1\",\"method\":\"POST\",\"uri\":\"/api/reservation\",")
+                    .append("\"response\":\"200 OK\",\"parameter\":[{\"purpose\":\"회의 ").append(i).append("\"}]}\n");
+        }
+        Files.writeString(logFile, current);
+
+        String yesterday = LocalDate.now().minusDays(1).toString();
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(Path.of(logFile + "." + yesterday + ".0.gz")));
+             Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            writer.write("2025-03-09 INFO c.a.srr.log.LogAspect : [TIMESTAMP][2025-03-09T10:00:00], [IP][10.0.0.2], "
+                    + "[METHOD][POST], [URI][/api/admin/access], [RESPONSE][200 OK], [PARAMETER][{\"password\":\"x]\"}]\n");
+        }
+
+        LogService logService = new LogService();
+        ReflectionTestUtils.setField(logService, "LOG_FILE_PATH", logFile.toString());
+        ReflectionTestUtils.setField(logService, "MAX_HISTORY", 60);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        logService.writeLogExcel(out);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+
+            Sheet reservation = workbook.getSheet("reservation");
+            // 헤더 + 250행. 스트리밍 창(100행)보다 많아도 순서대로 모두 남는다.
+            assertThat(reservation.getLastRowNum()).isEqualTo(250);
+            assertThat(reservation.getRow(1).getCell(4).getStringCellValue()).isEqualTo("[{\"purpose\":\"회의 0\"}]");
+            assertThat(reservation.getRow(250).getCell(4).getStringCellValue()).isEqualTo("[{\"purpose\":\"회의 249\"}]");
+
+            Sheet access = workbook.getSheet("access");
+            assertThat(access.getLastRowNum()).isEqualTo(1);
+            assertThat(access.getRow(1).getCell(1).getStringCellValue()).isEqualTo("10.0.0.2");
+            assertThat(access.getRow(1).getCell(4).getStringCellValue()).isEqualTo("{\"password\":\"x]\"}");
+
+            assertThat(workbook.getSheet("readme").getRow(1).getCell(0).getStringCellValue())
+                    .isEqualTo("목포대학교 학생회관 세미나실 예약 시스템 로그");
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.alstjrzzz.srr.service;
+
+import com.alstjrzzz.srr.domain.Reservation;
+import com.alstjrzzz.srr.entity.ReservationEntity;
+import com.alstjrzzz.srr.exception.DuplicateReservationException;
+import com.alstjrzzz.srr.repository.ReservationRepository;
+import com.alstjrzzz.srr.support.ReservationFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(ReservationFixture.class)
+class ReservationConcurrencyTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationFixture fixture;
+
+    private Long roomId;
+
+    @BeforeEach
+    void setUp() {
+
+        roomId = fixture.createRoom().getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        fixture.cleanUp();
+    }
+
+    @Test
+    void sameTimeReservationsOnlyOneSucceeds() throws Exception {
+
+        LocalDateTime startTime = LocalDate.now().plusDays(1).atTime(10, 0);
+
+        AtomicInteger duplicates = new AtomicInteger();
+        int succeeded = runConcurrently(i -> reservationService.reservation(
+                reservation(i, startTime, startTime.plusHours(1))), duplicates);
+
+        assertThat(succeeded).isEqualTo(1);
+        assertThat(duplicates.get()).isEqualTo(THREADS - 1);
+        assertThat(reservationRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void overlappingReservationsNeverDoubleBook() throws Exception {
+
+        LocalDateTime base = LocalDate.now().plusDays(1).atTime(9, 0);
+
+        // 15분씩 어긋난 2시간 예약들이 서로 겹치도록 요청한다.
+        AtomicInteger duplicates = new AtomicInteger();
+        int succeeded = runConcurrently(i -> {
+            LocalDateTime startTime = base.plusMinutes(15L * i);
+            reservationService.reservation(reservation(i, startTime, startTime.plusHours(2)));
+        }, duplicates);
+
+        List<ReservationEntity> saved = new ArrayList<>(reservationRepository.findAll());
+        saved.sort(Comparator.comparing(ReservationEntity::getStartTime));
+
+        assertThat(saved).hasSize(succeeded);
+        assertThat(succeeded + duplicates.get()).isEqualTo(THREADS);
+        for (int i = 1; i < saved.size(); i++) {
+            assertThat(saved.get(i).getStartTime()).isAfterOrEqualTo(saved.get(i - 1).getEndTime());
+        }
+    }
+
+    private int runConcurrently(IndexedTask task, AtomicInteger duplicates) throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> {
+                ready.countDown();
+                start.await();
+                try {
+                    task.run(index);
+                    succeeded.incrementAndGet();
+                } catch (DuplicateReservationException e) {
+                    duplicates.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        ready.await();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        return succeeded.get();
+    }
+
+    private Reservation reservation(int index, LocalDateTime startTime, LocalDateTime endTime) {
+
+        return fixture.reservationBuilder(roomId, startTime, endTime)
+                .nickname("동아리" + index)
+                .studentName("학생" + index)
+                .studentId(20250000 + index)
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask {
+
+        void run(int index);
+    }
+}
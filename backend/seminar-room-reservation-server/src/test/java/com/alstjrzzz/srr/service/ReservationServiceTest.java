@@ -0,0 +1,344 @@
+package com.alstjrzzz.srr.service;
+
+import com.alstjrzzz.srr.cache.RoomCatalog;
+import com.alstjrzzz.srr.domain.FreeSlot;
+import com.alstjrzzz.srr.domain.Reservation;
+import com.alstjrzzz.srr.domain.ReservationFilter;
+import com.alstjrzzz.srr.dto.admin.AdminReservationCursor;
+import com.alstjrzzz.srr.dto.reservation.CancelReservationRequestDTO;
+import com.alstjrzzz.srr.entity.ReservationEntity;
+import com.alstjrzzz.srr.entity.RoomEntity;
+import com.alstjrzzz.srr.event.ReservationChangedEvent;
+import com.alstjrzzz.srr.exception.DuplicateReservationException;
+import com.alstjrzzz.srr.exception.InvalidQueryRangeException;
+import com.alstjrzzz.srr.exception.InvalidReservationIdException;
+import com.alstjrzzz.srr.exception.InvalidReservationTimeException;
+import com.alstjrzzz.srr.exception.InvalidStudentInfoException;
+import com.alstjrzzz.srr.index.ReservationIntervalIndex;
+import com.alstjrzzz.srr.repository.ReservationRepository;
+import com.alstjrzzz.srr.repository.ReservationSlotRepository;
+import com.alstjrzzz.srr.repository.projection.ReservationView;
+import com.alstjrzzz.srr.support.ReservationFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(ReservationFixture.class)
+@RecordApplicationEvents
+class ReservationServiceTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationSlotRepository reservationSlotRepository;
+
+    @Autowired
+    private ReservationFixture fixture;
+
+    @Autowired
+    private RoomCatalog roomCatalog;
+
+    @Autowired
+    private ReservationIntervalIndex reservationIntervalIndex;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    private Long roomId;
+    private LocalDateTime tomorrow;
+
+    @BeforeEach
+    void setUp() {
+
+        roomId = fixture.createRoom().getId();
+        tomorrow = LocalDate.now().plusDays(1).atStartOfDay();
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        fixture.cleanUp();
+    }
+
+    @Test
+    void batchReservationSavesAll() {
+
+        reservationService.reservations(List.of(
+                reservation(tomorrow.plusHours(9), tomorrow.plusHours(10)),
+                reservation(tomorrow.plusHours(10), tomorrow.plusHours(11)),
+                reservation(tomorrow.plusHours(13), tomorrow.plusHours(15))));
+
+        assertThat(reservationRepository.count()).isEqualTo(3);
+        assertThat(reservationSlotRepository.count()).isEqualTo(16);
+    }
+
+    @Test
+    void batchReservationOverlappingWithinBatchSavesNothing() {
+
+        assertThatThrownBy(() -> reservationService.reservations(List.of(
+                reservation(tomorrow.plusHours(9), tomorrow.plusHours(11)),
+                reservation(tomorrow.plusHours(10), tomorrow.plusHours(12)))))
+                .isInstanceOf(DuplicateReservationException.class);
+
+        assertThat(reservationRepository.count()).isZero();
+    }
+
+    @Test
+    void batchReservationConflictingWithExistingSavesNothing() {
+
+        reservationService.reservation(reservation(tomorrow.plusHours(12), tomorrow.plusHours(13)));
+
+        assertThatThrownBy(() -> reservationService.reservations(List.of(
+                reservation(tomorrow.plusHours(9), tomorrow.plusHours(10)),
+                reservation(tomorrow.plusHours(12), tomorrow.plusHours(14)))))
+                .isInstanceOf(DuplicateReservationException.class);
+
+        assertThat(reservationRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void reservationOffSlotBoundaryIsRejected() {
+
+        assertThatThrownBy(() -> reservationService.reservation(
+                reservation(tomorrow.plusHours(10).plusMinutes(5), tomorrow.plusHours(10).plusMinutes(15))))
+                .isInstanceOf(InvalidReservationTimeException.class);
+        assertThatThrownBy(() -> reservationService.reservation(
+                reservation(tomorrow.plusHours(10), tomorrow.plusHours(10).plusMinutes(20))))
+                .isInstanceOf(InvalidReservationTimeException.class);
+        assertThatThrownBy(() -> reservationService.reservation(
+                reservation(tomorrow.plusHours(10).plusSeconds(30), tomorrow.plusHours(11))))
+                .isInstanceOf(InvalidReservationTimeException.class);
+
+        reservationService.reservations(List.of(
+                reservation(tomorrow.plusHours(10), tomorrow.plusHours(10).plusMinutes(15)),
+                reservation(tomorrow.plusHours(10).plusMinutes(15), tomorrow.plusHours(10).plusMinutes(45))));
+
+        assertThat(reservationRepository.count()).isEqualTo(2);
+        assertThat(reservationSlotRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void cancelReservationDeletesReservationAndSlots() {
+
+        reservationService.reservation(reservation(tomorrow.plusHours(9), tomorrow.plusHours(10)));
+        Long reservationId = reservationRepository.findAll().get(0).getId();
+
+        reservationService.cancelReservation(cancelRequest(reservationId, "홍길동", 20250001));
+
+        assertThat(reservationRepository.count()).isZero();
+        assertThat(reservationSlotRepository.count()).isZero();
+        assertThat(reservationService.isReservationTimeAvailable(roomId, tomorrow.plusHours(9), tomorrow.plusHours(10))).isTrue();
+    }
+
+    @Test
+    void cancelReservationDistinguishesWrongStudentFromMissingReservation() {
+
+        reservationService.reservation(reservation(tomorrow.plusHours(9), tomorrow.plusHours(10)));
+        Long reservationId = reservationRepository.findAll().get(0).getId();
+
+        assertThatThrownBy(() -> reservationService.cancelReservation(cancelRequest(reservationId, "홍길동", 20259999)))
+                .isInstanceOf(InvalidStudentInfoException.class);
+        assertThatThrownBy(() -> reservationService.cancelReservation(cancelRequest(reservationId + 1000, "홍길동", 20250001)))
+                .isInstanceOf(InvalidReservationIdException.class);
+
+        assertThat(reservationRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelAndDeletePublishCompleteEventsWithoutIndex() {
+
+        reservationService.reservations(List.of(
+                reservation(tomorrow.plusHours(9), tomorrow.plusHours(10)),
+                reservation(tomorrow.plusHours(11), tomorrow.plusHours(12))));
+        List<Long> reservationIds = reservationRepository.findAll().stream()
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .map(ReservationEntity::getId)
+                .toList();
+
+        // 끝난 지 오래되었거나 인덱스가 적재되지 않은 예약처럼 인덱스에서 뺀다.
+        reservationIds.forEach(reservationIntervalIndex::remove);
+
+        reservationService.cancelReservation(cancelRequest(reservationIds.get(0), "홍길동", 20250001));
+        reservationService.deleteReservation(reservationIds.get(1));
+
+        assertThat(applicationEvents.stream(ReservationChangedEvent.class))
+                .filteredOn(event -> !event.isCreated())
+                .extracting(ReservationChangedEvent::getType, ReservationChangedEvent::getReservationId,
+                        ReservationChangedEvent::getRoomId, ReservationChangedEvent::getStartTime, ReservationChangedEvent::getEndTime)
+                .containsExactly(
+                        tuple(ReservationChangedEvent.Type.CANCELED, reservationIds.get(0), roomId, tomorrow.plusHours(9), tomorrow.plusHours(10)),
+                        tuple(ReservationChangedEvent.Type.DELETED, reservationIds.get(1), roomId, tomorrow.plusHours(11), tomorrow.plusHours(12)));
+    }
+
+    @Test
+    void deleteReservationsRemovesOnlyOverlappingReservations() {
+
+        reservationService.reservations(List.of(
+                reservation(tomorrow.plusHours(8), tomorrow.plusHours(9)),
+                reservation(tomorrow.plusHours(10), tomorrow.plusHours(12)),
+                reservation(tomorrow.plusHours(14), tomorrow.plusHours(15))));
+
+        int deleted = reservationService.deleteReservations(Set.of(roomId), tomorrow.plusHours(9), tomorrow.plusHours(14));
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(reservationRepository.count()).isEqualTo(2);
+        assertThat(reservationService.isReservationTimeAvailable(roomId, tomorrow.plusHours(10), tomorrow.plusHours(12))).isTrue();
+    }
+
+    @Test
+    void deleteReservationsPublishesEventForEveryDeletedRowWithoutIndex() {
+
+        // 인덱스를 거치지 않고 저장해 인덱스가 모르는 예약을 만든다.
+        RoomEntity roomEntity = fixture.createRoom("세미나실 2", 6, null);
+        ReservationEntity first = fixture.saveReservation(roomEntity, tomorrow.plusHours(9), tomorrow.plusHours(10));
+        ReservationEntity second = fixture.saveReservation(roomEntity, tomorrow.plusHours(11), tomorrow.plusHours(12));
+        fixture.saveReservation(roomEntity, tomorrow.plusHours(15), tomorrow.plusHours(16));
+
+        ReflectionTestUtils.setField(reservationIntervalIndex, "loaded", false);
+        try {
+            int deleted = reservationService.deleteReservations(Set.of(roomEntity.getId()), tomorrow.plusHours(9), tomorrow.plusHours(14));
+
+            assertThat(deleted).isEqualTo(2);
+            assertThat(applicationEvents.stream(ReservationChangedEvent.class))
+                    .filteredOn(event -> event.getType() == ReservationChangedEvent.Type.DELETED)
+                    .extracting(ReservationChangedEvent::getReservationId, ReservationChangedEvent::getRoomId, ReservationChangedEvent::getStartTime)
+                    .containsExactlyInAnyOrder(
+                            tuple(first.getId(), roomEntity.getId(), tomorrow.plusHours(9)),
+                            tuple(second.getId(), roomEntity.getId(), tomorrow.plusHours(11)));
+            assertThat(reservationRepository.count()).isEqualTo(1);
+        } finally {
+            ReflectionTestUtils.setField(reservationIntervalIndex, "loaded", true);
+        }
+    }
+
+    @Test
+    void findReservationsByRoomsGroupsByRequestedRoom() {
+
+        Long otherRoomId = fixture.createRoom("세미나실 2", 6, null).getId();
+
+        reservationService.reservations(List.of(
+                reservation(tomorrow.plusHours(9), tomorrow.plusHours(10)),
+                reservation(tomorrow.plusDays(2).plusHours(9), tomorrow.plusDays(2).plusHours(10))));
+
+        Map<Long, List<ReservationView>> reservationsByRoom = reservationService.findReservationsByRooms(
+                List.of(otherRoomId, roomId), tomorrow, tomorrow.plusDays(1));
+
+        assertThat(reservationsByRoom.keySet()).containsExactly(otherRoomId, roomId);
+        assertThat(reservationsByRoom.get(otherRoomId)).isEmpty();
+        assertThat(reservationsByRoom.get(roomId)).extracting(ReservationView::startTime)
+                .containsExactly(tomorrow.plusHours(9));
+    }
+
+    @Test
+    void findReservationsByRoomsRejectsTooLongRange() {
+
+        assertThatThrownBy(() -> reservationService.findReservationsByRooms(List.of(roomId), tomorrow, tomorrow.plusDays(60)))
+                .isInstanceOf(InvalidQueryRangeException.class);
+    }
+
+    @Test
+    void findFreeSlotsSkipsReservedTimeAndFiltersRooms() {
+
+        Long largeRoomId = fixture.createRoom("세미나실 2", 20, "빔프로젝터, 화이트보드").getId();
+        roomCatalog.refresh();
+
+        reservationService.reservations(List.of(
+                reservation(tomorrow.plusHours(13), tomorrow.plusHours(14))));
+
+        List<FreeSlot> freeSlots = reservationService.findFreeSlots(Duration.ofHours(2),
+                tomorrow.plusHours(12), tomorrow.plusHours(18), 1, List.of(), 20);
+
+        // 같은 시작 시간이면 인원이 더 딱 맞는 방이 먼저 온다.
+        assertThat(freeSlots.get(0).getRoomId()).isEqualTo(largeRoomId);
+        assertThat(freeSlots.get(0).getStartTime()).isEqualTo(tomorrow.plusHours(12));
+        assertThat(freeSlots).filteredOn(freeSlot -> freeSlot.getRoomId().equals(roomId))
+                .extracting(FreeSlot::getStartTime)
+                .containsExactly(tomorrow.plusHours(14), tomorrow.plusHours(16));
+
+        assertThat(reservationService.findFreeSlots(Duration.ofHours(2),
+                tomorrow.plusHours(12), tomorrow.plusHours(18), 12, List.of("화이트보드"), 20))
+                .extracting(FreeSlot::getRoomId)
+                .containsOnly(largeRoomId);
+    }
+
+    @Test
+    void findReservationsPagesByStartTimeAndId() {
+
+        reservationService.reservations(List.of(
+                reservation(tomorrow.plusHours(9), tomorrow.plusHours(10)),
+                reservation(tomorrow.plusHours(10), tomorrow.plusHours(11)),
+                reservation(tomorrow.plusHours(11), tomorrow.plusHours(12))));
+
+        ReservationFilter filter = ReservationFilter.builder().roomId(roomId).studentId(20250001).build();
+
+        List<ReservationEntity> firstPage = reservationService.findReservations(filter, null, 2);
+        ReservationEntity last = firstPage.get(1);
+        List<ReservationEntity> secondPage = reservationService.findReservations(
+                filter, new AdminReservationCursor(last.getStartTime(), last.getId()), 2);
+
+        assertThat(firstPage).extracting(ReservationEntity::getStartTime)
+                .containsExactly(tomorrow.plusHours(9), tomorrow.plusHours(10));
+        assertThat(secondPage).extracting(ReservationEntity::getStartTime)
+                .containsExactly(tomorrow.plusHours(11));
+
+        assertThat(reservationService.findReservations(
+                ReservationFilter.builder().studentName("없는학생").build(), null, 10)).isEmpty();
+    }
+
+    @Test
+    void forEachReservationVisitsFilteredReservationsInOrder() {
+
+        reservationService.reservations(List.of(
+                reservation(tomorrow.plusHours(13), tomorrow.plusHours(14)),
+                reservation(tomorrow.plusHours(9), tomorrow.plusHours(10)),
+                reservation(tomorrow.plusDays(2).plusHours(9), tomorrow.plusDays(2).plusHours(10))));
+
+        List<LocalDateTime> startTimes = new ArrayList<>();
+        reservationService.forEachReservation(ReservationFilter.builder()
+                        .from(tomorrow)
+                        .to(tomorrow.plusDays(1))
+                        .build(),
+                reservationEntity -> startTimes.add(reservationEntity.getStartTime()));
+
+        assertThat(startTimes).containsExactly(tomorrow.plusHours(9), tomorrow.plusHours(13));
+    }
+
+    private CancelReservationRequestDTO cancelRequest(Long reservationId, String studentName, Integer studentId) {
+
+        CancelReservationRequestDTO requestDTO = new CancelReservationRequestDTO();
+        ReflectionTestUtils.setField(requestDTO, "reservationId", reservationId);
+        ReflectionTestUtils.setField(requestDTO, "studentName", studentName);
+        ReflectionTestUtils.setField(requestDTO, "studentId", studentId);
+        return requestDTO;
+    }
+
+    private Reservation reservation(LocalDateTime startTime, LocalDateTime endTime) {
+
+        return fixture.reservation(roomId, startTime, endTime);
+    }
+}
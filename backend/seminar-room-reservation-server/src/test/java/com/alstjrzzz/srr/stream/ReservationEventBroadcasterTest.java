@@ -0,0 +1,78 @@
+package com.alstjrzzz.srr.stream;
+
+import com.alstjrzzz.srr.event.ReservationChangedEvent;
+import com.alstjrzzz.srr.event.RoomChangedEvent;
+import com.alstjrzzz.srr.exception.StreamUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReservationEventBroadcasterTest {
+
+    // 실행하지 않고 쌓아두기만 해서 버퍼가 비워지지 않는 상황을 만든다.
+    private final List<Runnable> pendingDrains = new ArrayList<>();
+
+    private ReservationEventBroadcaster broadcaster(int bufferSize, int maxSubscribers) {
+
+        return new ReservationEventBroadcaster(new ObjectMapper().registerModule(new JavaTimeModule()),
+                pendingDrains::add, Duration.ofMinutes(1), bufferSize, maxSubscribers);
+    }
+
+    private ReservationChangedEvent created(long reservationId, Long roomId) {
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        return new ReservationChangedEvent(ReservationChangedEvent.Type.CREATED, reservationId, roomId, start, start.plusHours(1));
+    }
+
+    @Test
+    void rejectsSubscribersOverLimit() {
+
+        ReservationEventBroadcaster broadcaster = broadcaster(4, 2);
+        broadcaster.subscribe(1L);
+        broadcaster.subscribe(2L);
+
+        assertThatThrownBy(() -> broadcaster.subscribe(1L))
+                .isInstanceOf(StreamUnavailableException.class);
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    void schedulesOneDrainPerSubscriberAndDropsSlowSubscriber() {
+
+        ReservationEventBroadcaster broadcaster = broadcaster(2, 10);
+        broadcaster.subscribe(1L);
+        broadcaster.subscribe(2L);
+
+        broadcaster.onReservationChanged(created(1L, 1L));
+        broadcaster.onReservationChanged(created(2L, 1L));
+
+        // 이미 예약된 drain 이 있으면 새로 예약하지 않는다.
+        assertThat(pendingDrains).hasSize(1);
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(2);
+
+        // 버퍼를 넘기면 해당 방의 구독자만 끊긴다.
+        broadcaster.onReservationChanged(created(3L, 1L));
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void closesSubscribersOfDeletedRoom() {
+
+        ReservationEventBroadcaster broadcaster = broadcaster(4, 10);
+        broadcaster.subscribe(1L);
+        broadcaster.subscribe(1L);
+        broadcaster.subscribe(2L);
+
+        broadcaster.onRoomChanged(new RoomChangedEvent(RoomChangedEvent.Type.DELETED, 1L));
+
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,96 @@
+package com.alstjrzzz.srr.support;
+
+import com.alstjrzzz.srr.domain.Reservation;
+import com.alstjrzzz.srr.entity.ReservationEntity;
+import com.alstjrzzz.srr.entity.RoomEntity;
+import com.alstjrzzz.srr.repository.ReservationRepository;
+import com.alstjrzzz.srr.repository.ReservationSlotRepository;
+import com.alstjrzzz.srr.repository.RoomRepository;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.time.LocalDateTime;
+
+/**
+ * 예약 관련 통합 테스트가 함께 쓰는 방/예약 데이터. 테스트 클래스에서 @Import 해서 쓴다.
+ * 보관된 예약과 이용 통계는 FK(ON DELETE CASCADE)로 방과 함께 삭제되므로 cleanUp 에서 따로 지우지 않는다.
+ */
+@TestComponent
+public class ReservationFixture {
+
+    public static final String STUDENT_NAME = "홍길동";
+    public static final int STUDENT_ID = 20250001;
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationSlotRepository reservationSlotRepository;
+    private final RoomRepository roomRepository;
+
+    public ReservationFixture(ReservationRepository reservationRepository,
+                              ReservationSlotRepository reservationSlotRepository,
+                              RoomRepository roomRepository) {
+
+        this.reservationRepository = reservationRepository;
+        this.reservationSlotRepository = reservationSlotRepository;
+        this.roomRepository = roomRepository;
+    }
+
+    public RoomEntity createRoom() {
+
+        return createRoom("세미나실 1", 10, null);
+    }
+
+    public RoomEntity createRoom(String name, int capacity, String equipment) {
+
+        return roomRepository.save(RoomEntity.builder()
+                .name(name)
+                .location("학생회관 2층")
+                .capacity(capacity)
+                .equipment(equipment)
+                .available(true)
+                .build());
+    }
+
+    /**
+     * ReservationService 로 예약할 때 쓰는 기본 예약. 학생 정보를 바꾸려면 reservationBuilder 를 쓴다.
+     */
+    public Reservation reservation(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+
+        return reservationBuilder(roomId, startTime, endTime).build();
+    }
+
+    public Reservation.ReservationBuilder reservationBuilder(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+
+        return Reservation.builder()
+                .roomId(roomId)
+                .nickname("동아리")
+                .studentName(STUDENT_NAME)
+                .studentId(STUDENT_ID)
+                .phoneNumber("010-1234-5678")
+                .purpose("스터디")
+                .startTime(startTime)
+                .endTime(endTime);
+    }
+
+    /**
+     * 예약 검증, 슬롯, 이벤트 없이 reservation 테이블에 바로 저장한다. 지난 예약을 만들 때 쓴다.
+     */
+    public ReservationEntity saveReservation(RoomEntity roomEntity, LocalDateTime startTime, LocalDateTime endTime) {
+
+        return reservationRepository.save(ReservationEntity.builder()
+                .room(roomEntity)
+                .nickname("동아리")
+                .studentName(STUDENT_NAME)
+                .studentId(STUDENT_ID)
+                .phoneNumber("010-1234-5678")
+                .purpose("스터디")
+                .startTime(startTime)
+                .endTime(endTime)
+                .build());
+    }
+
+    public void cleanUp() {
+
+        reservationSlotRepository.deleteAllInBatch();
+        reservationRepository.deleteAllInBatch();
+        roomRepository.deleteAll();
+    }
+}
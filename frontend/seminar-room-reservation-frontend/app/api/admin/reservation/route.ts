@@ -1,11 +1,18 @@
 import { NextResponse } from "next/server"
 
-export async function GET() {
+export async function GET(request: Request) {
   try {
-    const res = await fetch("http://localhost:8080/api/admin/reservation", { cache: "no-store" })
+    // 방금 삭제한 관리자의 srr_primary_until 쿠키를 넘겨 primary DB 에서 읽게 한다.
+    const cookie = request.headers.get("cookie")
+    const res = await fetch("http://localhost:8080/api/admin/reservation/stream", {
+      cache: "no-store",
+      headers: cookie ? { Cookie: cookie } : undefined,
+    })
     if (!res.ok) throw new Error("Failed to fetch admin reservations")
-    const data = await res.json()
-    return NextResponse.json(data, { headers: { "Cache-Control": "no-store" } })
+    // 백엔드가 스트리밍하는 본문을 파싱하지 않고 그대로 넘겨 Node 프로세스에 목록 전체를 올리지 않는다.
+    return new Response(res.body, {
+      headers: { "Content-Type": "application/json", "Cache-Control": "no-store" },
+    })
   } catch (e) {
     console.error(e)
     return NextResponse.json({ error: "예약 목록을 가져오지 못했습니다." }, { status: 500 })
@@ -21,7 +28,11 @@ export async function DELETE(request: Request) {
       body: JSON.stringify(body),
     })
     const text = await res.text()
-    return new Response(text || (res.ok ? "OK" : ""), { status: res.status })
+    const setCookie = res.headers.get("set-cookie")
+    return new Response(text || (res.ok ? "OK" : ""), {
+      status: res.status,
+      headers: setCookie ? { "Set-Cookie": setCookie } : undefined,
+    })
   } catch (e) {
     console.error(e)
     return new Response("예약 취소 처리 중 오류가 발생했습니다.", { status: 500 })
@@ -4,15 +4,33 @@ interface Params {
   params: { roomId: string }
 }
 
-export async function GET(_req: Request, { params }: Params) {
+export async function GET(req: Request, { params }: Params) {
   try {
     const { roomId } = params
-    const response = await fetch(`http://localhost:8080/api/reservation/${roomId}`, { cache: "no-store" })
+    // 브라우저의 If-None-Match 를 그대로 넘겨 바뀌지 않았으면 304 로 응답한다.
+    // 방금 예약한 사용자의 srr_primary_until 쿠키도 넘겨 primary DB 에서 읽게 한다.
+    const ifNoneMatch = req.headers.get("If-None-Match")
+    const cookie = req.headers.get("cookie")
+    const response = await fetch(`http://localhost:8080/api/reservation/${roomId}`, {
+      cache: "no-store",
+      headers: {
+        ...(ifNoneMatch ? { "If-None-Match": ifNoneMatch } : {}),
+        ...(cookie ? { Cookie: cookie } : {}),
+      },
+    })
+    const etag = response.headers.get("ETag")
+    const headers: Record<string, string> = { "Cache-Control": "no-cache" }
+    if (etag) {
+      headers["ETag"] = etag
+    }
+    if (response.status === 304) {
+      return new NextResponse(null, { status: 304, headers })
+    }
     if (!response.ok) {
       throw new Error("Failed to fetch reservations by room")
     }
     const data = await response.json()
-    return NextResponse.json(data, { headers: { "Cache-Control": "no-store" } })
+    return NextResponse.json(data, { headers })
   } catch (error) {
     console.error("Error fetching reservations by room:", error)
     return NextResponse.json(
@@ -31,9 +31,23 @@ const mockReservations: ApiReservationResponse = {
   ],
 }
 
-export async function GET() {
+// 예약/취소 응답의 srr_primary_until 쿠키를 브라우저에 넘기고, 이후 조회에 다시 실어 보내
+// 방금 변경한 사용자의 조회만 잠시 primary DB 에서 읽게 한다.
+const forwardCookie = (request: Request): Record<string, string> => {
+  const cookie = request.headers.get("cookie")
+  return cookie ? { Cookie: cookie } : {}
+}
+
+const relaySetCookie = (response: Response): Record<string, string> => {
+  const setCookie = response.headers.get("set-cookie")
+  return setCookie ? { "Set-Cookie": setCookie } : {}
+}
+
+export async function GET(request: Request) {
   try {
-    const response = await fetch('http://localhost:8080/api/reservation');
+    const response = await fetch('http://localhost:8080/api/reservation', {
+      headers: forwardCookie(request),
+    });
     if (!response.ok) {
       throw new Error('Failed to fetch reservations');
     }
@@ -63,6 +77,7 @@ export async function POST(request: Request) {
       method: 'POST',
       headers: {
         'Content-Type': 'application/json',
+        ...forwardCookie(request),
       },
       body: JSON.stringify(adjustedData),
     });
@@ -72,7 +87,7 @@ export async function POST(request: Request) {
       return new Response(errorText, { status: response.status });
     }
 
-    return new Response('예약이 완료되었습니다.', { status: 200 });
+    return new Response('예약이 완료되었습니다.', { status: 200, headers: relaySetCookie(response) });
   } catch (error) {
     console.error('Error processing reservation:', error);
     return new Response('예약 처리 중 오류가 발생했습니다.', { status: 500 });
@@ -86,6 +101,7 @@ export async function DELETE(request: Request) {
       method: 'DELETE',
       headers: {
         'Content-Type': 'application/json',
+        ...forwardCookie(request),
       },
       body: JSON.stringify(data),
     });
@@ -95,7 +111,7 @@ export async function DELETE(request: Request) {
       return new Response(errorText, { status: response.status });
     }
 
-    return new Response('예약이 취소되었습니다.', { status: 200 });
+    return new Response('예약이 취소되었습니다.', { status: 200, headers: relaySetCookie(response) });
   } catch (error) {
     console.error('Error cancelling reservation:', error);
     return new Response('예약 취소 중 오류가 발생했습니다.', { status: 500 });
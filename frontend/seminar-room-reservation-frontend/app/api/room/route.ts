@@ -1,13 +1,26 @@
 import { NextResponse } from "next/server"
 
-export async function GET() {
+export async function GET(req: Request) {
   try {
-    const response = await fetch("http://localhost:8080/api/room", { cache: "no-store" })
+    // 브라우저의 If-None-Match 를 그대로 넘겨 바뀌지 않았으면 304 로 응답한다.
+    const ifNoneMatch = req.headers.get("If-None-Match")
+    const response = await fetch("http://localhost:8080/api/room", {
+      cache: "no-store",
+      headers: ifNoneMatch ? { "If-None-Match": ifNoneMatch } : undefined,
+    })
+    const etag = response.headers.get("ETag")
+    const headers: Record<string, string> = { "Cache-Control": "no-cache" }
+    if (etag) {
+      headers["ETag"] = etag
+    }
+    if (response.status === 304) {
+      return new NextResponse(null, { status: 304, headers })
+    }
     if (!response.ok) {
       throw new Error("Failed to fetch rooms")
     }
     const data = await response.json()
-    return NextResponse.json(data, { headers: { "Cache-Control": "no-store" } })
+    return NextResponse.json(data, { headers })
   } catch (error) {
     console.error("Error fetching rooms:", error)
     return NextResponse.json(
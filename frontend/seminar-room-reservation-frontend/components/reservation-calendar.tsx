@@ -56,7 +56,7 @@ export default function ReservationCalendar() {
     try {
       if (!roomId) return
       setIsLoading(true)
-      const response = await fetch(`/api/reservation/${roomId}`, { cache: "no-store" })
+      const response = await fetch(`/api/reservation/${roomId}`, { cache: "no-cache" })
 
       if (!response.ok) {
         throw new Error("Failed to fetch reservations")
@@ -107,7 +107,7 @@ export default function ReservationCalendar() {
   const fetchRooms = useCallback(async () => {
     try {
       setIsLoading(true)
-      const response = await fetch("/api/room", { cache: "no-store" })
+      const response = await fetch("/api/room", { cache: "no-cache" })
       if (!response.ok) {
         throw new Error("Failed to fetch rooms")
       }